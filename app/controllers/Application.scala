@@ -12,11 +12,16 @@ import play.api.libs.oauth.ConsumerKey
 import play.api.libs.oauth.OAuth
 import play.api.libs.oauth.ServiceInfo
 import play.api.cache.Cache
+import play.api.libs.concurrent.Akka
+import play.api.libs.iteratee.Enumerator
 import java.security.MessageDigest
 import play.api.libs.oauth.OAuthCalculator
 import javachess._
-import scala.collection.mutable.ArraySeq
 object Application extends Controller {
+  val MAX_ANALYSIS_LINES = 5
+  val MAX_ANALYSIS_MILLIS = 10000
+  val ANALYSIS_CACHE_SECONDS = 3600
+  val MAX_POSITION_MATCHES = 1000
   val googlekey = ConsumerKey("www.xchess.co.uk", "V68qmc6za5w4PhVl9P5ZpN1d")
   val google = OAuth(ServiceInfo(
 	    "https://www.google.com/accounts/OAuthGetRequestToken",
@@ -48,6 +53,11 @@ object Application extends Controller {
     	if((g.turn == 1 && user.equals(g.black)) || (g.turn == 0 && user.equals(g.white))){
       
     	  DatabaseAccessor.addMove(gameID, user, "RESIG", 1 - g.turn)
+    	  Explorer.gameEnded(gameID)
+    	  
+    	  if(Bot.isBotGame(g)){
+    	    Bot.forget(gameID)
+    	  }
     	  
     		Ok("Success");
     		
@@ -111,6 +121,222 @@ object Application extends Controller {
 	  
   }
   
+  def engineStats(appID : String) = Action{ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        Ok(generate(Engine.stats))
+        
+    }
+  }
+  
+  def poolStats(appID : String) = Action{ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        Ok(generate(ConnectionPool.stats))
+        
+    }
+  }
+  
+  /**
+   * Start an integrity scan of all stored games in the background; the report is written to the
+   * file named in the response. Only one scan runs at a time.
+   */
+  def integrityScan(appID : String) = Action{ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        runReportJob(scanRunning, "integrity"){ out =>
+          IntegrityScan.run(out)
+        }.map(Ok(_)).getOrElse(Ok("Scan already running"))
+        
+    }
+  }
+  
+  private val scanRunning = new java.util.concurrent.atomic.AtomicBoolean(false)
+  
+  /**
+   * Import the games of the PGN file sent as the request body into the archive, in the background;
+   * the report is written to the file named in the response. Only one import runs at a time.
+   */
+  def importPGN(appID : String) = Action(parse.temporaryFile){ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        runReportJob(importRunning, "import"){
+          
+          // The upload is deleted once the request is done, so it is kept until the import is
+          val pgn = Play.getFile("logs/import-" + System.currentTimeMillis + ".pgn")
+          request.body.moveTo(pgn, true)
+          
+          (out : java.io.Writer) => {
+            val in = new java.io.InputStreamReader(new java.io.FileInputStream(pgn), "UTF-8")
+            try {
+              PGNImport.run(in, out)
+            } finally {
+              in.close()
+              pgn.delete()
+            }
+          }
+          
+        }.map(Ok(_)).getOrElse(Ok("Import already running"))
+        
+    }
+  }
+  
+  private val importRunning = new java.util.concurrent.atomic.AtomicBoolean(false)
+  
+  /**
+   * Rebuild the position index from the stored transcripts in the background; the report is written
+   * to the file named in the response. Only one rebuild runs at a time.
+   */
+  def indexPositions(appID : String) = Action{ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        runReportJob(indexRunning, "positions"){ out =>
+          PositionIndex.run(out)
+        }.map(Ok(_)).getOrElse(Ok("Indexing already running"))
+        
+    }
+  }
+  
+  private val indexRunning = new java.util.concurrent.atomic.AtomicBoolean(false)
+  
+  /**
+   * Count every stored game again for the opening explorer, in the background; the report is written
+   * to the file named in the response. Only one rebuild runs at a time.
+   */
+  def rebuildExplorer(appID : String) = Action{ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        runReportJob(explorerRunning, "explorer"){ out =>
+          Explorer.rebuild(out)
+        }.map(Ok(_)).getOrElse(Ok("Rebuild already running"))
+        
+    }
+  }
+  
+  private val explorerRunning = new java.util.concurrent.atomic.AtomicBoolean(false)
+  
+  /**
+   * Run a job in the background unless running says one of its kind already is, and return the path
+   * of the file, under logs and named after prefix, its report is written to. body is evaluated here,
+   * for anything which has to be done before the request ends, and the job it gives runs on Akka.
+   */
+  private def runReportJob(running : java.util.concurrent.atomic.AtomicBoolean, prefix : String)(body : => java.io.Writer => Unit) : Option[String] = {
+    
+    if(!running.compareAndSet(false, true)){
+      return None
+    }
+    
+    try {
+      
+      val file = Play.getFile("logs/" + prefix + "-" + System.currentTimeMillis + ".txt")
+      file.getParentFile.mkdirs()
+      val job = body
+      
+      Akka.future {
+        try {
+          val out = new java.io.FileWriter(file)
+          try {
+            job(out)
+          } finally {
+            out.close()
+          }
+        } finally {
+          running.set(false)
+        }
+      }
+      
+      return Some(file.getPath)
+      
+    } catch {
+      case e : Exception =>
+        running.set(false)
+        throw e
+    }
+    
+  }
+  
+  
+  /**
+   * The moves played in a position, given by its key in hexadecimal as in an analysis, with the
+   * results of the games which played them, the most played first. Answered from memory.
+   */
+  def explorer(hash : String, appID : String) = Action{ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        parsePositionKey(hash) match {
+          case Some(key) => Ok(generate(Explorer.moves(key)))
+          case None => Ok("Invalid position")
+        }
+        
+    }
+  }
+  
+  // A position key, as written in hexadecimal by Analysis
+  private def parsePositionKey(hash : String) : Option[Long] = {
+    
+    try {
+      return Some(new java.math.BigInteger(hash, 16).longValue)
+    } catch {
+      case e : NumberFormatException => return None
+    }
+    
+  }
+  
+  /**
+   * The stored games which reached a position, given by its key in hexadecimal, as in an analysis:
+   * up to limit of them, with ids greater than after, so that a client can page through them.
+   */
+  def gamesReaching(hash : String, appID : String, after : Long, limit : Int) = Action{ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        parsePositionKey(hash) match {
+          case Some(k) => Ok(generate(DatabaseAccessor.gamesReaching(k, after, math.max(1, math.min(limit, MAX_POSITION_MATCHES)))))
+          case None => Ok("Invalid position")
+        }
+        
+    }
+  }
+  
   def getGame(gameID : Long, appID : String) = Action{ request=>
       
          
@@ -121,11 +347,104 @@ object Application extends Controller {
       } else {
           
 	    val transcript = DatabaseAccessor.getTranscript(gameID)
+	    
+	    val game = DatabaseAccessor.getGame(gameID)
+	    
+	    if(Bot.isBotGame(game)){
+	      Bot.wake(game, transcript)
+	    }
 	        
 	    Ok(generate(transcript))
     }
   }
   
+  /**
+   * A game in PGN, with the moves in standard algebraic notation.
+   */
+  def exportGame(gameID : Long, appID : String) = Action{ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        val game = DatabaseAccessor.getGame(gameID)
+        val white = DatabaseAccessor.getHandle(game.white).getOrElse("?")
+        val black = DatabaseAccessor.getHandle(game.black).getOrElse("?")
+        
+        val archived = if(game.white == DatabaseAccessor.ARCHIVE) DatabaseAccessor.getArchiveTags(gameID) else None
+        
+        Ok(PGN.export(game, white, black, DatabaseAccessor.getTranscript(gameID), archived)).as(PGN.CONTENT_TYPE)
+        
+    }
+  }
+  
+  /**
+   * All of a user's games in PGN, as a chunked response: games are read from the database a page at
+   * a time, as the client takes them.
+   */
+  def exportHistory(user : String, appID : String) = Action{ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        Ok.stream(Enumerator.fromStream(new PGNHistoryStream(user))).as(PGN.CONTENT_TYPE)
+        
+    }
+  }
+  
+  def analyseGame(gameID : Long, appID : String, depth : Int, time : Int, lines : Int) = Action{ request=>
+    
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+      
+        val board = cachedBoard(gameID)
+        val hash = board.GetPositionKey()
+        val wantedLines = math.max(1, math.min(lines, MAX_ANALYSIS_LINES))
+        val wantedTime = math.max(1, math.min(time, MAX_ANALYSIS_MILLIS))
+        val wantedDepth = if(depth <= 0) jcSearchAgent.MAX_DEPTH else math.min(depth, jcSearchAgent.MAX_DEPTH)
+        val cacheKey = "analysis." + hash
+        
+        // (lines asked for, time allowed, analysis) - a position may have fewer legal moves than lines
+        // asked for, and a search limited by time alone is only as good as the time it was given
+        Cache.getAs[(Int, Int, Analysis)](cacheKey) match {
+          
+          case Some((asked, allowed, analysis)) if asked >= wantedLines &&
+              (analysis.depth >= wantedDepth || (depth <= 0 && allowed >= wantedTime)) => {
+            
+            Ok(generate(analysis))
+            
+          }
+          
+          case _ => {
+            
+            Engine.analyse(board, wantedDepth, wantedTime, wantedLines) match {
+              
+              case Some(promise) => Async {
+                promise.map( results=> {
+                  val analysis = Analysis.fromResults(hash, results)
+                  Cache.set(cacheKey, (wantedLines, wantedTime, analysis), ANALYSIS_CACHE_SECONDS)
+                  Ok(generate(analysis))
+                })
+              }
+              
+              case None => ServiceUnavailable("Engine busy")
+              
+            }
+            
+          }
+          
+        }
+    }
+  }
+  
   def exchangeRequestForAccess(verifier: String, token: String) = Action{ request=>
       
 	  val secret = Cache.getAs[String](token).get
@@ -259,47 +578,134 @@ object Application extends Controller {
 	      
 	    } else {
 	    
-		    val board = buildBoard(DatabaseAccessor.getTranscript(gameID))
+		    val transcript = DatabaseAccessor.getTranscript(gameID)
+		    val current = replay(transcript)
 		    
-		    if((board.GetCurrentPlayer() == 0 && user.equals(game.black)) || (board.GetCurrentPlayer() == 1 && user.equals(game.white))){
+		    if(isOver(transcript, current)){
+		      
+		      Ok("Game over")
+		      
+		    } else if((current.GetCurrentPlayer() == 0 && user.equals(game.black)) || (current.GetCurrentPlayer() == 1 && user.equals(game.white))){
+		      
 		      Ok("Not your turn")
-		    }
-		    
-		    val xmove = new Move(start + " " + end + " " + promotion, user)
-		    var newMove = xmove.convertToEngine
-		    
-		    val player = new jcPlayerHuman(board.GetCurrentPlayer())
-		    
-		    newMove = player.GetMove(board, newMove, newMove.MoveType)
-		    board.ApplyMove(newMove)
-		    DatabaseAccessor.addMove(gameID, user, xmove.move, board.GetCurrentPlayer())
+		      
+		    } else {
 		    
-		    Ok("Success")
+			    val xmove = new Move(start + " " + end + " " + promotion, user)
+			    
+			    // The validator's board is only lent to this thread: keep a copy
+			    val validator = jcGameValidator.ForCurrentThread
+			    validator.Play(xmove.convertToEngine)
+			    val board = new jcBoard
+			    board.Clone(validator.GetBoard)
+			    DatabaseAccessor.addMove(gameID, user, xmove.move, board.GetCurrentPlayer(), Some(board.GetPositionKey))
+			    // Only once stored: the cache must never be ahead of the database
+			    cacheBoard(gameID, board)
+			    
+			    if(!validator.HasLegalMove){
+			      // Checkmate or stalemate
+			      Explorer.gameEnded(gameID)
+			      if(Bot.isBotGame(game)){
+			        Bot.forget(gameID)
+			      }
+			    } else if(recordDraw(gameID, user, board)){
+			      if(Bot.isBotGame(game)){
+			        Bot.forget(gameID)
+			      }
+			    } else if(Bot.isBotGame(game)){
+			      Bot.humanMoved(gameID, board)
+			    }
+			    
+			    Ok("Success")
+			    
+		    }
 	    }
     }
   }
   
-  def buildBoard(transcript: List[String] ) : jcBoard = {
+  /**
+   * Replay a transcript with the calling thread's validator, which is left in the final position.
+   * The board returned belongs to the validator: clone it to keep it, or to pass it to another thread.
+   */
+  def replay(transcript: List[String] ) : jcBoard = {
     
-    val board = new jcBoard
-    val players = new ArraySeq[jcPlayerHuman](2)
-    var crntMove = new jcMove
-    players(0) = new jcPlayerHuman(0)
-    players(1) = new jcPlayerHuman(1)
+    val validator = jcGameValidator.ForCurrentThread
+    validator.Reset()
     
-    for(move <- transcript){
+    for(move <- transcript if !move.equals(jcNotation.RESIGNATION) && !move.equals(jcNotation.DRAW)){
       
-      val xmove = new Move(move, "")
-      crntMove = xmove.convertToEngine
-      crntMove = players(board.GetCurrentPlayer()).GetMove(board, crntMove, crntMove.MoveType)
-      board.ApplyMove(crntMove)
+      validator.Play(new Move(move, "").convertToEngine)
       
     }
     
+    return validator.GetBoard
+    
+  }
+  
+  /**
+   * Whether a game is over: its transcript ends with a resignation or a draw, or board, the position
+   * it reached, is checkmate or stalemate, which the transcript does not record.
+   */
+  def isOver(transcript : List[String], board : jcBoard) : Boolean = {
+    
+    transcript.lastOption match {
+      case Some(last) if last.equals(jcNotation.RESIGNATION) || last.equals(jcNotation.DRAW) => return true
+      case Some(_) =>
+      case None => return false
+    }
+    
+    // After replay, board already is the validator's own
+    val validator = jcGameValidator.ForCurrentThread
+    if(!(validator.GetBoard eq board)){
+      validator.Reset(board)
+    }
+    return !validator.HasLegalMove
+    
+  }
+  
+  /**
+   * If the move which led to board repeated a position for the third time, or was the hundredth ply
+   * without a capture or a pawn move, record the draw in the transcript. Returns true if it did.
+   */
+  def recordDraw(gameID : Long, user : String, board : jcBoard) : Boolean = {
+    
+    if(board.IsThreefoldRepetition() || board.IsFiftyMoveDraw()){
+      DatabaseAccessor.addMove(gameID, user, jcNotation.DRAW, board.GetCurrentPlayer())
+      Explorer.gameEnded(gameID)
+      return true
+    }
+    
+    return false
+    
+  }
+  
+  /**
+   * The current position of a game, from the cache if possible. The caller gets its own copy.
+   */
+  def cachedBoard(gameID : Long) : jcBoard = {
+    
+    val board = new jcBoard
+    
+    Cache.getAs[jcBoard]("board." + gameID) match {
+      case Some(cached) => board.Clone(cached)
+      case None => {
+        board.Clone(replay(DatabaseAccessor.getTranscript(gameID)))
+        cacheBoard(gameID, board)
+      }
+    }
+    
     return board
     
   }
   
+  def cacheBoard(gameID : Long, board : jcBoard) {
+    
+    val copy = new jcBoard
+    copy.Clone(board)
+    Cache.set("board." + gameID, copy)
+    
+  }
+  
   def requestRandomGame(user : String, appID : String) = Action { request=>
   
     if(!DatabaseAccessor.authCheck(appID)){
@@ -318,6 +724,22 @@ object Application extends Controller {
   
   }
   
+  def requestBotGame(user : String, appID : String) = Action { request=>
+  
+    if(!DatabaseAccessor.authCheck(appID)){
+        
+        Ok("Application not authorised")
+        
+    } else {
+    
+	    val gameID = DatabaseAccessor.createBotGame(user, Bot.XAUTH)
+	    
+	    Ok(gameID.toString)
+    
+    }
+  
+  }
+  
   def requestGame(user : String, otherPlayer : String, appID : String) = Action {request =>
   	
     if(!DatabaseAccessor.authCheck(appID)){
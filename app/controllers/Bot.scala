@@ -0,0 +1,285 @@
+package controllers
+
+import play.api._
+import play.api.Play.current
+import play.api.libs.concurrent.Akka
+import akka.util.duration._
+import javachess._
+import xmodels._
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * The server's own player, always black. After each of its moves the bot keeps searching ("ponders")
+ * the position it expects after the human's reply. If the human plays that reply, the running search
+ * is promoted: it gets a real deadline and its result is played. Otherwise it is cancelled and a new
+ * search starts; the game's agent still keeps whatever its transposition table learned. Positions in
+ * the opening book (see EnginePlugin) are not searched at all.
+ *
+ * Settings, in application.conf: bot.moveMillis (thinking time per move, default 2000) and
+ * bot.ponderMillis (longest ponder, default 60000).
+ */
+object Bot {
+
+  val XAUTH = "xchess-bot"
+  val TABLE_SIZE = 1 << 16
+
+  private class BotGame(val gameID : Long) {
+
+    val agent = new jcSearchAgent(new jcTranspositionTable(TABLE_SIZE))
+
+    // The search in progress, if any; a ponder search stays here, finished or not, until the human moves
+    var job : jcSearchJob = null
+    var pondering = false
+
+    // A position waiting for the agent, while a cancelled ponder search winds down
+    var waiting : jcBoard = null
+
+  }
+
+  private class BotListener(state : BotGame) extends jcSearchJob.Listener {
+
+    def SearchCompleted(job : jcSearchJob) {
+
+      state.synchronized {
+
+        if(state.job eq job){
+
+          if(state.waiting != null){
+            val board = state.waiting
+            state.waiting = null
+            state.job = null
+            think(state, board)
+          } else if(!state.pondering){
+            state.job = null
+            play(state, job.GetBoard, job.GetResult)
+          }
+
+        }
+
+      }
+
+    }
+
+  }
+
+  private val games = new ConcurrentHashMap[Long, BotGame]
+
+  def moveMillis : Long = current.configuration.getInt("bot.moveMillis").getOrElse(2000).toLong
+
+  def ponderMillis : Long = current.configuration.getInt("bot.ponderMillis").getOrElse(60000).toLong
+
+  def isBotGame(game : Game) : Boolean = XAUTH.equals(game.white) || XAUTH.equals(game.black)
+
+  /**
+   * The human has moved, and board is the resulting position, with the bot to move.
+   */
+  def humanMoved(gameID : Long, board : jcBoard) {
+
+    val state = stateOf(gameID)
+
+    state.synchronized {
+
+      val current = state.job
+
+      if(current != null && state.pondering && current.GetBoard.GetPositionKey == board.GetPositionKey){
+
+        // Ponder hit: carry on with the search already running, with a deadline this time
+        state.pondering = false
+        if(current.IsDone){
+          state.job = null
+          play(state, current.GetBoard, current.GetResult)
+        } else {
+          current.GetControl.SetTimeLimit(moveMillis)
+        }
+
+      } else if(current != null && !current.IsDone){
+
+        // Ponder miss: the agent is free again once the cancelled search has stopped
+        state.pondering = false
+        state.waiting = board
+        current.Cancel()
+
+      } else {
+
+        state.job = null
+        state.pondering = false
+        think(state, board)
+
+      }
+
+    }
+
+  }
+
+  /**
+   * Make sure the bot is thinking if it is its turn, e.g., after a restart of the server.
+   */
+  def wake(game : Game, transcript : List[String]) {
+
+    val botToMove = (game.turn == 1 && XAUTH.equals(game.black)) || (game.turn == 0 && XAUTH.equals(game.white))
+
+    if(botToMove && !games.containsKey(game.id)){
+      val board = Application.cachedBoard(game.id)
+      if(!Application.isOver(transcript, board)){
+        humanMoved(game.id, board)
+      }
+    }
+
+  }
+
+  /**
+   * Stop thinking about a game which is over.
+   */
+  def forget(gameID : Long) {
+
+    val state = games.remove(gameID)
+
+    if(state != null){
+      state.synchronized {
+        state.waiting = null
+        if(state.job != null){
+          state.job.Cancel()
+          state.job = null
+        }
+      }
+    }
+
+  }
+
+  private def stateOf(gameID : Long) : BotGame = {
+
+    val state = games.get(gameID)
+
+    if(state != null){
+      return state
+    }
+
+    games.putIfAbsent(gameID, new BotGame(gameID))
+    return games.get(gameID)
+
+  }
+
+  // Called with the state locked
+  private def think(state : BotGame, board : jcBoard) {
+
+    // Out of the book, the bot searches; in it, the move is played at once, without pondering
+    Engine.bookMove(board) match {
+      case Some(move) => {
+        val result = new jcSearchResult
+        result.BestMove = move
+        play(state, board, result)
+        return
+      }
+      case None =>
+    }
+
+    val control = new jcSearchControl(moveMillis, jcSearchControl.UNLIMITED)
+
+    Engine.submit(state.agent, board, jcSearchAgent.MAX_DEPTH, control, new BotListener(state)) match {
+
+      case Some(job) => {
+        state.job = job
+      }
+
+      case None => {
+        // The engine is saturated; try again shortly
+        Akka.system.scheduler.scheduleOnce(1 second) {
+          state.synchronized {
+            if(state.job == null && games.get(state.gameID) == state){
+              think(state, board)
+            }
+          }
+        }
+      }
+
+    }
+
+  }
+
+  /**
+   * Called with the state locked, on an engine worker or a request thread: neither should wait for the
+   * database, so the move is stored by store, in the background.
+   */
+  private def play(state : BotGame, board : jcBoard, result : jcSearchResult) {
+
+    if(result == null || result.BestMove == null){
+      // Mate or stalemate: nothing left to do
+      games.remove(state.gameID)
+      return
+    }
+
+    val after = new jcBoard
+    after.Clone(board)
+    after.ApplyMove(result.BestMove)
+
+    Akka.future {
+      try {
+        store(state, after, result)
+      } catch {
+        case e : Exception => {
+          // The game is woken again when it is next loaded
+          Logger.error("Could not play the bot's move in game " + state.gameID + ": " + e)
+          forget(state.gameID)
+        }
+      }
+    }
+
+  }
+
+  // Store the bot's move, which led to board, and ponder the reply if the game goes on; called without
+  // the state locked
+  private def store(state : BotGame, board : jcBoard, result : jcSearchResult) {
+
+    DatabaseAccessor.addMove(state.gameID, XAUTH, jcNotation.FormatWireMove(result.BestMove), board.GetCurrentPlayer(),
+        Some(board.GetPositionKey))
+    Application.cacheBoard(state.gameID, board)
+
+    val validator = jcGameValidator.ForCurrentThread
+    validator.Reset(board)
+
+    if(!validator.HasLegalMove){
+      // Checkmate or stalemate
+      Explorer.gameEnded(state.gameID)
+      games.remove(state.gameID)
+      return
+    }
+
+    if(Application.recordDraw(state.gameID, XAUTH, board)){
+      games.remove(state.gameID)
+      return
+    }
+
+    state.synchronized {
+      // Unless the human was quicker, or the game was forgotten meanwhile
+      if(state.job == null && games.get(state.gameID) == state){
+        ponder(state, board, result)
+      }
+    }
+
+  }
+
+  // Called with the state locked
+  private def ponder(state : BotGame, board : jcBoard, result : jcSearchResult) {
+
+    if(result.PrincipalVariation.size < 2){
+      return
+    }
+
+    val predicted = new jcBoard
+    predicted.Clone(board)
+    predicted.ApplyMove(result.PrincipalVariation.get(1))
+
+    val control = new jcSearchControl(ponderMillis, jcSearchControl.UNLIMITED)
+
+    // Pondering is a luxury: if the engine is saturated, don't
+    Engine.submit(state.agent, predicted, jcSearchAgent.MAX_DEPTH, control, new BotListener(state)) match {
+      case Some(job) => {
+        state.job = job
+        state.pondering = true
+      }
+      case None =>
+    }
+
+  }
+
+}
@@ -0,0 +1,296 @@
+package controllers
+
+import play.api._
+import play.api.Play.current
+import play.api.libs.concurrent.Promise
+import javachess._
+import java.util.concurrent.ConcurrentLinkedQueue
+import scala.collection.JavaConversions.seqAsJavaList
+
+/**
+ * Starts and stops the engine scheduler with the application. Settings, in application.conf:
+ * engine.threads (default: one less than the number of cores), engine.queue (most jobs
+ * admitted at once, default 64), engine.quantumMillis (time slice, default 50) and
+ * engine.bitbases (where the endgame bitbases are kept, default data/bitbases; missing ones are
+ * generated at startup, which takes a few seconds, and saved there) and engine.book (the opening
+ * book, built by jcOpeningBookBuilder, default data/opening.book; the engine searches every position
+ * if there is none).
+ */
+class EnginePlugin(app : Application) extends Plugin {
+
+  private var engineScheduler : jcEngineScheduler = null
+  @volatile private var openingBook : jcOpeningBook = null
+
+  override def onStart() {
+
+    val config = app.configuration
+    val threads = config.getInt("engine.threads").getOrElse(math.max(1, Runtime.getRuntime.availableProcessors - 1))
+    val queue = config.getInt("engine.queue").getOrElse(64)
+    val quantum = config.getInt("engine.quantumMillis").map(_.toLong).getOrElse(jcEngineScheduler.DEFAULT_QUANTUM_MILLIS)
+
+    // The search can do without the bitbases, only less well
+    val bitbases = app.getFile(config.getString("engine.bitbases").getOrElse("data/bitbases"))
+    try {
+      jcBitbase.LoadOrGenerate(bitbases.getPath, threads)
+    } catch {
+      case e : Exception => Logger.error("Could not load the endgame bitbases from " + bitbases + ": " + e)
+    }
+
+    val book = app.getFile(config.getString("engine.book").getOrElse("data/opening.book"))
+    if(book.exists){
+      try {
+        openingBook = new jcOpeningBook(book.getPath)
+      } catch {
+        case e : java.io.IOException => Logger.error("Could not open the opening book " + book + ": " + e)
+      }
+    } else {
+      Logger.info("No opening book at " + book + ": every position will be searched")
+    }
+
+    engineScheduler = new jcEngineScheduler(threads, queue, quantum)
+
+  }
+
+  override def onStop() {
+
+    if(engineScheduler != null){
+      engineScheduler.Shutdown(5000)
+      engineScheduler = null
+    }
+    openingBook = null
+
+  }
+
+  def scheduler : jcEngineScheduler = engineScheduler
+
+  // null if there is no book
+  def book : jcOpeningBook = openingBook
+
+}
+
+/**
+ * Entry point for engine work from the controllers: searches never run on a request thread,
+ * they are submitted to the scheduler, which may refuse them when it is saturated.
+ */
+object Engine {
+
+  val ANALYSIS_TABLE_SIZE = 1 << 16
+
+  // Agents are expensive to build, so analysis requests share a pool of them
+  private val agents = new ConcurrentLinkedQueue[jcSearchAgent]
+
+  // The most moves there can be in a position
+  private val MAX_MOVES = 256
+
+  // For looking moves up in the book, one per thread
+  private val bookGenerators = new ThreadLocal[jcMoveListGenerator] {
+    override def initialValue = new jcMoveListGenerator
+  }
+
+  def scheduler : jcEngineScheduler = {
+
+    current.plugin[EnginePlugin] match {
+      case Some(plugin) if plugin.scheduler != null => plugin.scheduler
+      case _ => throw new IllegalStateException("EnginePlugin is not running")
+    }
+
+  }
+
+  private def book : jcOpeningBook = current.plugin[EnginePlugin].map(_.book).orNull
+
+  /**
+   * A move from the opening book for board, picked at random in proportion to how often it was
+   * played; None if there is no book, or board is out of it.
+   */
+  def bookMove(board : jcBoard) : Option[jcMove] = {
+
+    val opening = book
+
+    if(opening == null){
+      return None
+    }
+
+    val move = opening.Query(board, bookGenerators.get)
+
+    if(move == null){
+      return None
+    }
+
+    // The generator's moves are reused by its next call
+    val copy = new jcMove
+    copy.Copy(move)
+    return Some(copy)
+
+  }
+
+  /**
+   * The book moves for board, the most played first, as results of depth 0 without a score; Nil if
+   * board is out of book.
+   */
+  def bookLines(board : jcBoard, lines : Int) : List[jcSearchResult] = {
+
+    val opening = book
+
+    if(opening == null){
+      return Nil
+    }
+
+    val packed = new Array[Int](MAX_MOVES)
+    val weights = new Array[Int](MAX_MOVES)
+    val found = opening.GetMoves(board.GetPositionKey, packed, weights)
+
+    return (0 until found).sortBy(i => -weights(i)).take(lines).map( i=> {
+      val result = new jcSearchResult
+      result.BestMove = new jcMove
+      jcOpeningBook.UnpackMove(packed(i), result.BestMove)
+      result.PrincipalVariation.add(result.BestMove)
+      result
+    }).toList
+
+  }
+
+  /**
+   * Queue a search of board with agent. Returns None if the scheduler is full; otherwise the job,
+   * which can be awaited, polled or cancelled.
+   */
+  def submit(agent : jcSearchAgent, board : jcBoard, maxDepth : Int, control : jcSearchControl, listener : jcSearchJob.Listener = null) : Option[jcSearchJob] = {
+
+    val job = new jcSearchJob(agent, board, maxDepth, control, listener)
+
+    if(scheduler.Submit(job)){
+      Some(job)
+    } else {
+      None
+    }
+
+  }
+
+  /**
+   * Check a stored transcript on the calling thread: the first entry which is not a legal move, if any,
+   * and the position reached before it. Pass the result of the previous call when checking many games.
+   */
+  def validateTranscript(transcript : List[String], result : jcTranscriptCheck = new jcTranscriptCheck) : jcTranscriptCheck = {
+
+    jcGameValidator.ForCurrentThread.ValidateTranscript(seqAsJavaList(transcript), result)
+    return result
+
+  }
+
+  def borrowAgent : jcSearchAgent = {
+
+    val agent = agents.poll
+
+    if(agent == null){
+      new jcSearchAgent(new jcTranspositionTable(ANALYSIS_TABLE_SIZE))
+    } else {
+      agent
+    }
+
+  }
+
+  def returnAgent(agent : jcSearchAgent) {
+
+    agent.ClearExcludedRootMoves()
+    agents.offer(agent)
+
+  }
+
+  /**
+   * The best lines in board, best first, searched to maxDepth plies in at most timeMillis
+   * altogether. Each line after the first is searched without the root moves of the previous ones;
+   * the next search is submitted by the previous one's listener, so no thread waits for them. A
+   * position in the opening book is not searched: its book moves come back instead, see bookLines.
+   * Returns None if the scheduler refused the work.
+   */
+  def analyse(board : jcBoard, maxDepth : Int, timeMillis : Long, lines : Int) : Option[Promise[List[jcSearchResult]]] = {
+
+    val booked = bookLines(board, lines)
+
+    if(!booked.isEmpty){
+      return Some(Promise.pure(booked))
+    }
+
+    val analysis = new MultiLineAnalysis(borrowAgent, board, maxDepth, System.currentTimeMillis + timeMillis, lines)
+
+    if(!analysis.next()){
+      returnAgent(analysis.agent)
+      return None
+    }
+
+    return Some(analysis.promise)
+
+  }
+
+  // The searches of one analysis, one line at a time; only ever run by one thread at a time
+  private class MultiLineAnalysis(val agent : jcSearchAgent, board : jcBoard, maxDepth : Int, deadline : Long, lines : Int)
+      extends jcSearchJob.Listener {
+
+    val promise = Promise[List[jcSearchResult]]()
+    @volatile private var results = List[jcSearchResult]()
+
+    // Submit the search of the next line, with its share of the time left; false if the scheduler is full
+    def next() : Boolean = {
+
+      val slice = math.max(1L, (deadline - System.currentTimeMillis) / (lines - results.length))
+      val control = new jcSearchControl(slice, jcSearchControl.UNLIMITED)
+
+      return submit(agent, board, maxDepth, control, this).isDefined
+
+    }
+
+    def SearchCompleted(job : jcSearchJob) {
+
+      try {
+
+        val result = job.GetResult
+
+        // No move left, or the scheduler is too busy for another line: what we have will do
+        if(result == null || result.BestMove == null){
+          finish()
+        } else {
+          results ::= result
+          agent.ExcludeRootMove(result.BestMove)
+          if(results.length >= lines || !next()){
+            finish()
+          }
+        }
+
+      } catch {
+        case e : Exception => {
+          returnAgent(agent)
+          promise.throwing(e)
+        }
+      }
+
+    }
+
+    private def finish() {
+
+      returnAgent(agent)
+      promise.redeem(results.reverse)
+
+    }
+
+  }
+
+  def stats : Map[String, Any] = {
+
+    val s = scheduler
+
+    Map(
+      "threads" -> s.GetThreads,
+      "capacity" -> s.GetCapacity,
+      "quantumMillis" -> s.GetQuantumMillis,
+      "queueDepth" -> s.GetQueueDepth,
+      "running" -> s.GetRunning,
+      "admitted" -> s.GetAdmitted,
+      "submitted" -> s.GetSubmitted,
+      "rejected" -> s.GetRejected,
+      "completed" -> s.GetCompleted,
+      "averageWaitMillis" -> s.GetAverageWaitMillis,
+      "maxWaitMillis" -> s.GetMaxWaitMillis
+    )
+
+  }
+
+}
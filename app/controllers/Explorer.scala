@@ -0,0 +1,310 @@
+package controllers
+
+import play.api._
+import play.api.Play.current
+import play.api.libs.concurrent.Akka
+import akka.actor.Cancellable
+import akka.util.duration._
+import javachess._
+import xmodels._
+import java.io.{File, FileInputStream, FileOutputStream, Writer}
+
+/**
+ * Holds the opening explorer's statistics in memory, loading them when the application starts and
+ * saving them now and then, and when it stops. Settings, in application.conf: explorer.file (default
+ * data/explorer.stats) and explorer.saveSeconds (time between saves, default 300). Nothing is read
+ * or saved in test mode.
+ */
+class ExplorerPlugin(app : Application) extends Plugin {
+
+  @volatile private var explorerStats : jcExplorerStats = null
+  private var saving : Cancellable = null
+  private var savedGames = 0L
+
+  private def file : File = app.getFile(app.configuration.getString("explorer.file").getOrElse("data/explorer.stats"))
+
+  private def persistent : Boolean = app.mode != Mode.Test
+
+  override def onStart() {
+
+    explorerStats = if(persistent && file.exists) load() else new jcExplorerStats
+
+    if(persistent){
+      val seconds = app.configuration.getInt("explorer.saveSeconds").getOrElse(300)
+      saving = Akka.system(app).scheduler.schedule(seconds seconds, seconds seconds){
+        save()
+      }
+    }
+
+  }
+
+  override def onStop() {
+
+    if(saving != null){
+      saving.cancel()
+      saving = null
+    }
+    if(persistent){
+      save()
+    }
+    explorerStats = null
+
+  }
+
+  def stats : jcExplorerStats = explorerStats
+
+  /**
+   * Use rebuilt statistics from now on; they are saved at the next opportunity.
+   */
+  def replace(rebuilt : jcExplorerStats) {
+
+    synchronized {
+      explorerStats = rebuilt
+      savedGames = -1
+    }
+
+  }
+
+  // Statistics which cannot be read are put aside, rather than overwritten by the next save
+  private def load() : jcExplorerStats = {
+
+    try {
+      val in = new FileInputStream(file)
+      try {
+        return jcExplorerStats.Load(in)
+      } finally {
+        in.close()
+      }
+    } catch {
+      case e : java.io.IOException => {
+        Logger.error("Could not read the explorer statistics from " + file + ": " + e)
+        file.renameTo(new File(file.getPath + ".bad"))
+        return new jcExplorerStats
+      }
+    }
+
+  }
+
+  // Write to a new file, then put it in place of the old one, so that a crash never leaves half a file
+  private def save() {
+
+    synchronized {
+
+      val current = explorerStats
+
+      if(current != null && current.GetGames != savedGames){
+        try {
+          val games = current.GetGames
+          val temporary = new File(file.getPath + ".new")
+          temporary.getParentFile.mkdirs()
+          val out = new FileOutputStream(temporary)
+          try {
+            current.Save(out)
+          } finally {
+            out.close()
+          }
+          if(!temporary.renameTo(file)){
+            file.delete()
+            temporary.renameTo(file)
+          }
+          savedGames = games
+        } catch {
+          case e : java.io.IOException => Logger.error("Could not save the explorer statistics to " + file + ": " + e)
+        }
+      }
+
+    }
+
+  }
+
+}
+
+/**
+ * The opening explorer: for a position, the moves played in it and how the games went on to end.
+ * Games are counted when they end, by resignation, draw, checkmate or stalemate; games imported into
+ * the archive are counted with the result given in their PGN.
+ */
+object Explorer {
+
+  // The most moves there can be in a position
+  val MAX_MOVES = 256
+
+  case class Report(games : Long, counted : Long, millis : Long)
+
+  private val PGNResults = Map("1-0" -> jcExplorerStats.WHITE_WINS, "1/2-1/2" -> jcExplorerStats.DRAWS, "0-1" -> jcExplorerStats.BLACK_WINS)
+
+  private val startingKey = {
+    val board = new jcBoard
+    board.StartingBoard()
+    board.GetPositionKey
+  }
+
+  private def plugin : ExplorerPlugin = {
+
+    current.plugin[ExplorerPlugin] match {
+      case Some(plugin) if plugin.stats != null => plugin
+      case _ => throw new IllegalStateException("ExplorerPlugin is not running")
+    }
+
+  }
+
+  /**
+   * The moves played in the position with the given key, the most played first.
+   */
+  def moves(hash : Long) : List[ExplorerMove] = {
+
+    val packed = new Array[Int](MAX_MOVES)
+    val counts = new Array[Int](MAX_MOVES * jcExplorerStats.RESULTS)
+    val found = plugin.stats.GetMoves(hash, packed, counts)
+    val move = new jcMove
+
+    return (0 until found).map( i=> {
+      jcOpeningBook.UnpackMove(packed(i), move)
+      val base = i * jcExplorerStats.RESULTS
+      ExplorerMove(jcNotation.FormatWireMove(move), counts(base + jcExplorerStats.WHITE_WINS),
+          counts(base + jcExplorerStats.DRAWS), counts(base + jcExplorerStats.BLACK_WINS))
+    }).toList.sortBy(m => -(m.white + m.draws + m.black))
+
+  }
+
+  /**
+   * Count a game which has just ended. A game whose end was already stored before is not counted
+   * again.
+   */
+  def gameEnded(gameID : Long) {
+
+    record(plugin.stats, DatabaseAccessor.getTranscript(gameID), None)
+
+  }
+
+  /**
+   * Count games just imported into the archive; their moves are not replayed, the positions they
+   * reached being known already. Games without a result are left out.
+   */
+  def recordArchived(games : Seq[ArchiveGame]) {
+
+    val stats = plugin.stats
+    val move = new jcMove
+
+    for(game <- games; result <- PGNResults.get(game.result)){
+      val keys = new Array[Long](game.moves.length)
+      val moves = new Array[Int](game.moves.length)
+      var count = 0
+      for((wire, key) <- game.moves.zip(startingKey :: game.positions) if jcNotation.ParseWireMove(wire, move)){
+        keys(count) = key
+        moves(count) = jcOpeningBook.PackMove(move)
+        count += 1
+      }
+      stats.AddGame(keys, moves, count, result)
+    }
+
+  }
+
+  /**
+   * Count every stored game again, from the transcripts, and replace the statistics with the new
+   * ones; a summary is written to out. Games which end while this runs may be missed.
+   */
+  def rebuild(out : Writer, pageSize : Int = GamePages.PAGE_SIZE) : Report = {
+
+    val start = System.currentTimeMillis
+    val rebuilt = new jcExplorerStats
+    var games = 0L
+    var counted = 0L
+    var after = 0L
+    var page = DatabaseAccessor.getTranscriptPage(after, pageSize)
+
+    while(!page.isEmpty){
+
+      val archived = DatabaseAccessor.getArchiveResultsBetween(after, page.last._1)
+
+      for((id, transcript) <- page if record(rebuilt, transcript, archived.get(id), true)){
+        counted += 1
+      }
+
+      games += page.length
+      after = page.last._1
+      page = DatabaseAccessor.getTranscriptPage(after, pageSize)
+
+    }
+
+    plugin.replace(rebuilt)
+
+    val report = Report(games, counted, System.currentTimeMillis - start)
+    out.write(report.games + " games, " + report.counted + " counted, " + rebuilt.Size + " moves, in " + report.millis + " ms\n")
+    out.flush()
+
+    return report
+
+  }
+
+  /**
+   * Count a game from its transcript, if it is over and legal; archived is the result of an archived
+   * game, whose transcript does not say how it ended. As games end, anything stored after the end
+   * means that the game was counted then, and it is not counted again; when rebuilding, the game is
+   * counted as it ended and the rest ignored. Returns true if the game was counted.
+   */
+  private def record(stats : jcExplorerStats, transcript : List[String], archived : Option[String], rebuilding : Boolean = false) : Boolean = {
+
+    val validator = jcGameValidator.ForCurrentThread
+    validator.Reset()
+
+    val keys = new Array[Long](transcript.length)
+    val moves = new Array[Int](transcript.length)
+    var count = 0
+    var result = -1
+    var over = false
+    val entries = transcript.iterator
+
+    while(result < 0 && !over && entries.hasNext){
+
+      val entry = entries.next
+
+      if((entry.equals(jcNotation.RESIGNATION) || entry.equals(jcNotation.DRAW)) && count > 0 && !validator.HasLegalMove){
+        // The game had already ended, by checkmate or stalemate
+        if(!rebuilding){
+          return false
+        }
+        over = true
+      } else if(entry.equals(jcNotation.RESIGNATION)){
+        // Players resign on their own turn
+        result = if(validator.GetBoard.GetCurrentPlayer == jcPlayer.SIDE_WHITE) jcExplorerStats.BLACK_WINS else jcExplorerStats.WHITE_WINS
+      } else if(entry.equals(jcNotation.DRAW)){
+        result = jcExplorerStats.DRAWS
+      } else {
+        keys(count) = validator.GetBoard.GetPositionKey
+        val move = validator.PlayWire(entry)
+        if(move != null){
+          moves(count) = jcOpeningBook.PackMove(move)
+          count += 1
+        } else if(rebuilding && count > 0 && !validator.HasLegalMove){
+          over = true
+        } else {
+          return false
+        }
+      }
+
+    }
+
+    if(entries.hasNext && !rebuilding){
+      return false
+    }
+
+    if(result < 0){
+      result = archived match {
+        case Some(pgn) => PGNResults.getOrElse(pgn, -1)
+        case None if count == 0 || validator.HasLegalMove => -1
+        case None if !validator.IsInCheck => jcExplorerStats.DRAWS
+        case None => if(validator.GetPly % 2 == 1) jcExplorerStats.WHITE_WINS else jcExplorerStats.BLACK_WINS
+      }
+    }
+
+    if(result < 0){
+      return false
+    }
+
+    stats.AddGame(keys, moves, count, result)
+    return true
+
+  }
+
+}
@@ -0,0 +1,77 @@
+package controllers
+
+import xmodels._
+import scala.concurrent.forkjoin.{ForkJoinPool, RecursiveAction}
+
+/**
+ * Visits every stored game, for the jobs which check or index them all. Games are read a page at a
+ * time, by increasing id, and each page is shared out over a fork-join pool while the next one is
+ * read; only those two pages are ever in memory.
+ */
+object GamePages {
+
+  val PAGE_SIZE = 512
+
+  // Games handled by one task before it stops splitting its share
+  val LEAF_SIZE = 16
+
+  private class Split[R](games : Array[(Long, List[String])], from : Int, to : Int, results : Array[R],
+                         work : (Long, List[String]) => R) extends RecursiveAction {
+
+    def compute() {
+
+      if(to - from > LEAF_SIZE){
+        val middle = (from + to) / 2
+        val left = new Split(games, from, middle, results, work)
+        left.fork()
+        new Split(games, middle, to, results, work).compute()
+        left.join()
+        return
+      }
+
+      for(i <- from until to){
+        val (gameID, transcript) = games(i)
+        results(i) = work(gameID, transcript)
+      }
+
+    }
+
+  }
+
+  /**
+   * Apply work to every game, on the pool's threads, and hand each page with the results of its games,
+   * in the same order, to done on the calling thread. Returns the number of games.
+   */
+  def foreach[R : ClassManifest](pageSize : Int, parallelism : Int)(work : (Long, List[String]) => R)
+                                (done : (Array[(Long, List[String])], Array[R]) => Unit) : Long = {
+
+    val pool = new ForkJoinPool(parallelism)
+    var games = 0L
+
+    try {
+
+      var page = DatabaseAccessor.getTranscriptPage(0L, pageSize)
+
+      while(!page.isEmpty){
+
+        val results = new Array[R](page.length)
+        val task = pool.submit(new Split(page, 0, page.length, results, work))
+        val next = DatabaseAccessor.getTranscriptPage(page.last._1, pageSize)
+        task.join()
+
+        done(page, results)
+
+        games += page.length
+        page = next
+
+      }
+
+    } finally {
+      pool.shutdown()
+    }
+
+    return games
+
+  }
+
+}
@@ -0,0 +1,68 @@
+package controllers
+
+import xmodels._
+import javachess._
+import java.io.Writer
+import java.util.concurrent.atomic.AtomicLong
+import scala.collection.JavaConversions._
+
+/**
+ * Replays every stored game and reports the ones whose transcripts are not legal games. The games
+ * are visited by GamePages, and every worker thread of its pool keeps its own jcGameValidator and
+ * jcTranscriptCheck.
+ */
+object IntegrityScan {
+
+  case class Corruption(gameID : Long, ply : Int, entry : String)
+
+  case class Report(games : Long, plies : Long, corrupt : Long, millis : Long) {
+
+    def gamesPerSecond : Long = games * 1000 / math.max(1, millis)
+
+    def pliesPerSecond : Long = plies * 1000 / math.max(1, millis)
+
+  }
+
+  private val checks = new ThreadLocal[jcTranscriptCheck] {
+    override def initialValue = new jcTranscriptCheck
+  }
+
+  /**
+   * Check every game, writing a line to out for each corrupt one and a summary at the end.
+   */
+  def run(out : Writer, pageSize : Int = GamePages.PAGE_SIZE, parallelism : Int = Runtime.getRuntime.availableProcessors) : Report = {
+
+    val start = System.currentTimeMillis
+    val plies = new AtomicLong
+    var corrupt = 0L
+
+    val games = GamePages.foreach(pageSize, parallelism)(check(plies) _){ (page, found) =>
+
+      for(Some(c) <- found){
+        out.write("game " + c.gameID + ": entry " + c.ply + " (" + c.entry + ") is not a legal move\n")
+        corrupt += 1
+      }
+
+    }
+
+    val report = Report(games, plies.get, corrupt, System.currentTimeMillis - start)
+    out.write(report.games + " games, " + report.plies + " plies, " + report.corrupt + " corrupt, in " + report.millis + " ms (" +
+        report.gamesPerSecond + " games/s, " + report.pliesPerSecond + " plies/s)\n")
+    out.flush()
+
+    return report
+
+  }
+
+  // Replay one game, adding its legal plies to plies
+  private def check(plies : AtomicLong)(gameID : Long, transcript : List[String]) : Option[Corruption] = {
+
+    val result = checks.get
+    val legal = jcGameValidator.ForCurrentThread.ValidateTranscript(transcript, result)
+    plies.addAndGet(result.Plies)
+
+    return if(legal) None else Some(Corruption(gameID, result.FirstIllegalPly, transcript(result.FirstIllegalPly)))
+
+  }
+
+}
@@ -0,0 +1,287 @@
+package controllers
+
+import xmodels._
+import javachess._
+import java.io.{BufferedReader, Reader, Writer}
+import java.util.concurrent.{ArrayBlockingQueue, Executors}
+import java.util.concurrent.atomic.AtomicReference
+import scala.collection.mutable.{ArrayBuffer, ListBuffer}
+import scala.collection.JavaConversions.seqAsJavaList
+
+/**
+ * Imports games from PGN files into the archive. The import is a pipeline of three stages, joined by
+ * bounded queues so that a slow stage holds the others back instead of letting games pile up in
+ * memory: one thread splits the file into games, several replay their moves through the engine,
+ * each with its own jcGameValidator, and encode them for storage with jcGameCodec, and the calling
+ * thread writes the legal ones to the database a batch at a time. Games are not stored in the order
+ * of the file.
+ */
+object PGNImport {
+
+  // Games waiting between two stages
+  val QUEUE_SIZE = 1024
+
+  // Games written in one transaction
+  val BATCH_SIZE = 256
+
+  case class Report(games : Long, imported : Long, rejected : Long, plies : Long, millis : Long) {
+
+    def gamesPerSecond : Long = games * 1000 / math.max(1, millis)
+
+    def pliesPerSecond : Long = plies * 1000 / math.max(1, millis)
+
+  }
+
+  // A game as written in the file, numbered from 1; and what became of it
+  private case class GameText(number : Long, tags : Map[String, String], movetext : String)
+  private case class Outcome(number : Long, game : Either[String, ArchiveGame])
+
+  // Each stage tells the next one it is done with these
+  private val NoMoreText = GameText(-1, Map(), "")
+  private val NoMoreOutcomes = Outcome(-1, Left(""))
+
+  private val Tag = """\[\s*(\w+)\s+"(.*)"\s*\]""".r
+
+  private val Results = Set("1-0", "0-1", "1/2-1/2", "*")
+
+  /**
+   * Import every game of the PGN text read from in, writing a line to out for each game which is not
+   * imported, and a summary at the end.
+   */
+  def run(in : Reader, out : Writer, parallelism : Int = Runtime.getRuntime.availableProcessors, batchSize : Int = BATCH_SIZE) : Report = {
+
+    val texts = new ArrayBlockingQueue[GameText](QUEUE_SIZE)
+    val outcomes = new ArrayBlockingQueue[Outcome](QUEUE_SIZE)
+    val failure = new AtomicReference[Throwable]
+    val threads = Executors.newFixedThreadPool(parallelism + 1)
+
+    val start = System.currentTimeMillis
+    var games = 0L
+    var imported = 0L
+    var rejected = 0L
+    var plies = 0L
+    val batch = new ArrayBuffer[ArchiveGame]
+
+    def write() {
+      DatabaseAccessor.archiveGames(batch)
+      Explorer.recordArchived(batch)
+      imported += batch.length
+      batch.clear()
+    }
+
+    try {
+
+      threads.execute(new Runnable {
+        def run() { split(in, texts, parallelism, failure) }
+      })
+      for(i <- 0 until parallelism){
+        threads.execute(new Runnable {
+          def run() { replay(texts, outcomes) }
+        })
+      }
+
+      var running = parallelism
+
+      while(running > 0){
+
+        val outcome = outcomes.take()
+
+        if(outcome eq NoMoreOutcomes){
+          running -= 1
+        } else {
+          games += 1
+          outcome.game match {
+            case Right(game) => {
+              batch += game
+              plies += game.moves.length
+              if(batch.length >= batchSize){
+                write()
+              }
+            }
+            case Left(reason) => {
+              rejected += 1
+              out.write("game " + outcome.number + ": " + reason + "\n")
+            }
+          }
+        }
+
+      }
+
+      if(!batch.isEmpty){
+        write()
+      }
+
+    } finally {
+      threads.shutdownNow()
+    }
+
+    if(failure.get != null){
+      out.write("reading stopped after game " + games + ": " + failure.get + "\n")
+    }
+
+    val report = Report(games, imported, rejected, plies, System.currentTimeMillis - start)
+    out.write(report.games + " games, " + report.imported + " imported, " + report.rejected + " rejected, " + report.plies + " plies, in " +
+        report.millis + " ms (" + report.gamesPerSecond + " games/s, " + report.pliesPerSecond + " plies/s)\n")
+    out.flush()
+
+    return report
+
+  }
+
+  // First stage: cut the file into games, each being its tag pairs followed by its movetext
+  private def split(in : Reader, texts : ArrayBlockingQueue[GameText], parsers : Int, failure : AtomicReference[Throwable]) {
+
+    try {
+
+      val lines = new BufferedReader(in)
+      var number = 0L
+      var tags = Map[String, String]()
+      val movetext = new StringBuilder
+
+      def send() {
+        number += 1
+        texts.put(GameText(number, tags, movetext.toString))
+        tags = Map()
+        movetext.clear()
+      }
+
+      var line = lines.readLine
+
+      while(line != null){
+
+        val trimmed = line.trim
+
+        if(trimmed.startsWith("[")){
+          if(movetext.length > 0){
+            send()
+          }
+          trimmed match {
+            case Tag(name, value) => tags += (name -> value.replace("\\\"", "\"").replace("\\\\", "\\"))
+            case _ =>
+          }
+        } else if(trimmed.length > 0 && !trimmed.startsWith("%")){
+          // Lines are kept apart: a ';' comment runs to the end of its line
+          movetext.append(trimmed).append('\n')
+        }
+
+        line = lines.readLine
+
+      }
+
+      if(movetext.length > 0 || !tags.isEmpty){
+        send()
+      }
+
+    } catch {
+      case e : InterruptedException => return
+      case e : Exception => failure.set(e)
+    }
+
+    for(i <- 0 until parsers){
+      texts.put(NoMoreText)
+    }
+
+  }
+
+  // Second stage: replay the moves of each game
+  private def replay(texts : ArrayBlockingQueue[GameText], outcomes : ArrayBlockingQueue[Outcome]) {
+
+    val validator = jcGameValidator.ForCurrentThread
+    var text = texts.take()
+
+    while(!(text eq NoMoreText)){
+      val game = try {
+        replay(validator, text)
+      } catch {
+        case e : Exception => Left("could not be read: " + e)
+      }
+      outcomes.put(Outcome(text.number, game))
+      text = texts.take()
+    }
+
+    outcomes.put(NoMoreOutcomes)
+
+  }
+
+  private def replay(validator : jcGameValidator, text : GameText) : Either[String, ArchiveGame] = {
+
+    if(text.tags.contains("FEN")){
+      return Left("starts from a set-up position")
+    }
+    text.tags.get("Variant") match {
+      case Some(variant) if !variant.equalsIgnoreCase("standard") => return Left("is a game of " + variant)
+      case _ =>
+    }
+
+    validator.Reset()
+    val moves = new ListBuffer[String]
+    val positions = new ListBuffer[Long]
+    var termination = "*"
+    val movetext = text.movetext
+    var i = 0
+    var variations = 0
+
+    while(i < movetext.length){
+
+      val c = movetext.charAt(i)
+
+      if(c == '{'){
+        i = movetext.indexOf('}', i) match { case -1 => movetext.length case close => close + 1 }
+      } else if(c == ';'){
+        i = movetext.indexOf('\n', i) match { case -1 => movetext.length case close => close + 1 }
+      } else if(c == '('){
+        variations += 1
+        i += 1
+      } else if(c == ')'){
+        variations -= 1
+        i += 1
+      } else if(Character.isWhitespace(c)){
+        i += 1
+      } else {
+
+        var end = i
+        while(end < movetext.length && !Character.isWhitespace(movetext.charAt(end)) && "{;()".indexOf(movetext.charAt(end)) < 0){
+          end += 1
+        }
+        val token = movetext.substring(i, end)
+        i = end
+
+        if(variations == 0 && !token.startsWith("$")){
+
+          // Move numbers may be written against the move: "12.Nf3", "12...Nf6"
+          var san = 0
+          while(san < token.length && Character.isDigit(token.charAt(san))) san += 1
+          if(san < token.length && token.charAt(san) == '.'){
+            while(san < token.length && token.charAt(san) == '.') san += 1
+          } else {
+            san = 0
+          }
+
+          if(Results.contains(token)){
+            termination = token
+          } else if(san < token.length){
+            val move = validator.PlaySAN(token.substring(san))
+            if(move == null){
+              return Left("move " + (validator.GetPly / 2 + 1) + " (" + token.substring(san) + ") is not legal")
+            }
+            moves += jcNotation.FormatWireMove(move)
+            positions += validator.GetBoard.GetPositionKey
+          }
+
+        }
+
+      }
+
+    }
+
+    val result = text.tags.get("Result").filter(Results.contains(_)).getOrElse(termination)
+
+    return Right(ArchiveGame(clip(text.tags.getOrElse("White", "?"), 255), clip(text.tags.getOrElse("Black", "?"), 255),
+        clip(text.tags.getOrElse("Event", "?"), 255), clip(text.tags.getOrElse("Date", "????.??.??"), 10), result, moves.toList, positions.toList,
+        jcGameCodec.ForCurrentThread.Encode(seqAsJavaList(moves), true)))
+
+  }
+
+  private def clip(value : String, length : Int) : String = if(value.length > length) value.substring(0, length) else value
+
+}
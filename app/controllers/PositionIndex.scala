@@ -0,0 +1,68 @@
+package controllers
+
+import xmodels._
+import javachess._
+import java.io.Writer
+import scala.collection.mutable.ListBuffer
+
+/**
+ * Rebuilds the position index, which maps the key of every position reached in a stored game to the
+ * game and ply: moves are indexed as they are stored, and this fills in the games stored before the
+ * index existed. The games are visited by GamePages, and each page's index is replaced in one
+ * transaction, in which games moved in since they were read are indexed again. A transcript which
+ * stops being legal is indexed up to its last legal move.
+ */
+object PositionIndex {
+
+  case class Report(games : Long, positions : Long, millis : Long) {
+
+    def gamesPerSecond : Long = games * 1000 / math.max(1, millis)
+
+  }
+
+  /**
+   * The positions reached by a game, as (game, ply, key), up to its last legal move.
+   */
+  def index(gameID : Long, transcript : List[String]) : List[(Long, Int, Long)] = {
+
+    val validator = jcGameValidator.ForCurrentThread
+    val reached = new ListBuffer[(Long, Int, Long)]
+    validator.Reset()
+    val entries = transcript.iterator
+
+    while(entries.hasNext && validator.PlayWire(entries.next) != null){
+      reached += ((gameID, validator.GetPly, validator.GetBoard.GetPositionKey))
+    }
+
+    return reached.toList
+
+  }
+
+  /**
+   * Index every game, writing a summary to out.
+   */
+  def run(out : Writer, pageSize : Int = GamePages.PAGE_SIZE, parallelism : Int = Runtime.getRuntime.availableProcessors) : Report = {
+
+    val start = System.currentTimeMillis
+    var indexed = 0L
+    var after = 0L
+
+    val games = GamePages.foreach(pageSize, parallelism)(index _){ (page, positions) =>
+
+      val rows = positions.toList.flatten
+      val read = page.map { case (id, transcript) => (id, transcript.length) }.toMap
+      indexed += DatabaseAccessor.reindexGames(after, page.last._1, read, rows, index)
+      after = page.last._1
+
+    }
+
+    val report = Report(games, indexed, System.currentTimeMillis - start)
+    out.write(report.games + " games, " + report.positions + " positions, in " + report.millis + " ms (" +
+        report.gamesPerSecond + " games/s)\n")
+    out.flush()
+
+    return report
+
+  }
+
+}
@@ -0,0 +1,243 @@
+/****************************************************************************
+ * jcBitbase.java - Win/draw tables for the simplest endgames
+ *
+ * Purpose: King and Queen vs King, King and Rook vs King and King and Pawn
+ * vs King are either trivially won or drawn, but a search needs a lot of
+ * depth to tell which.  A bitbase stores one bit per position: "the side
+ * with the extra piece wins".  Probing it gives the exact result at once.
+ *
+ * Every table is computed with White as the strong side, by
+ * jcBitbaseGenerator; positions where Black is the strong side are probed
+ * through their mirror image.  A position is indexed by
+ *   side to move << 18 | white king << 12 | black king << 6 | piece square
+ * so a table holds 2^19 bits, i.e., 64 KB.
+ *
+ * The tables are stored in files, one per material signature, containing a
+ * small header followed by the bits, and are memory-mapped when loaded.
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class jcBitbase
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  // Results returned by Probe, from the point of view of the side to move
+  public static final int RESULT_UNKNOWN = 0;
+  public static final int RESULT_WIN = 1;
+  public static final int RESULT_DRAW = 2;
+  public static final int RESULT_LOSS = 3;
+
+  // Number of positions in a table
+  public static final int NUM_POSITIONS = 1 << 19;
+
+  // File format
+  public static final int MAGIC = 0x4A434242;  // "JCBB"
+  public static final int VERSION = 1;
+  public static final int HEADER_SIZE = 12;
+
+  // The material signatures supported, named after the strong side's extra
+  // piece, in the order in which they must be generated (the pawn table
+  // needs the other two to evaluate promotions)
+  public static final int SIGNATURES[] = { jcBoard.QUEEN, jcBoard.ROOK, jcBoard.PAWN };
+  public static final String SIGNATURE_NAMES[] = { "KQK", "KRK", "KPK" };
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  // The strong side's extra piece type (jcBoard.QUEEN, ROOK or PAWN)
+  private int PieceType;
+  private ByteBuffer Bits;
+
+  // The tables currently in use, indexed by piece type / 2
+  private static volatile jcBitbase Tables[] = new jcBitbase[ 6 ];
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  public jcBitbase( int pieceType, ByteBuffer bits )
+  {
+    PieceType = pieceType;
+    Bits = bits;
+  }
+
+  public int GetPieceType() { return PieceType; }
+
+  // public boolean IsWin
+  // Is the position with this index won by the strong side?
+  public boolean IsWin( int index )
+  {
+    return( ( Bits.get( HEADER_SIZE + ( index >>> 3 ) ) & ( 1 << ( index & 7 ) ) ) != 0 );
+  }
+
+  // public static int Index
+  // Compute the index of a position, White being the strong side
+  public static int Index( int side, int whiteKing, int blackKing, int piece )
+  {
+    return( ( side << 18 ) | ( whiteKing << 12 ) | ( blackKing << 6 ) | piece );
+  }
+
+  // public static String FileName
+  // Where the table for a signature is stored, within a directory
+  public static String FileName( String directory, int pieceType )
+  {
+    for( int i = 0; i < SIGNATURES.length; i++ )
+    {
+      if ( SIGNATURES[ i ] == pieceType )
+        return new File( directory, SIGNATURE_NAMES[ i ] + ".jcbb" ).getPath();
+    }
+    throw new IllegalArgumentException( "No bitbase for piece type " + pieceType );
+  }
+
+  // public static jcBitbase Load
+  // Map a table file into memory
+  public static jcBitbase Load( String fileName ) throws IOException
+  {
+    RandomAccessFile file = new RandomAccessFile( fileName, "r" );
+    try
+    {
+      FileChannel channel = file.getChannel();
+      ByteBuffer buf = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() );
+      if ( ( buf.capacity() < HEADER_SIZE + NUM_POSITIONS / 8 ) || ( buf.getInt( 0 ) != MAGIC ) )
+        throw new IOException( fileName + " is not a bitbase" );
+      if ( buf.getInt( 4 ) != VERSION )
+        throw new IOException( fileName + ": unsupported bitbase version " + buf.getInt( 4 ) );
+      return new jcBitbase( buf.getInt( 8 ), buf );
+    }
+    finally
+    {
+      file.close();
+    }
+  }
+
+  // public void Write
+  // Save a table in the file format expected by Load
+  public void Write( String fileName ) throws IOException
+  {
+    DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( fileName ) ) );
+    try
+    {
+      out.writeInt( MAGIC );
+      out.writeInt( VERSION );
+      out.writeInt( PieceType );
+      for( int i = 0; i < NUM_POSITIONS / 8; i++ )
+        out.writeByte( Bits.get( HEADER_SIZE + i ) );
+    }
+    finally
+    {
+      out.close();
+    }
+  }
+
+  // public static void Install
+  // Make a table available to Probe
+  public static void Install( jcBitbase table )
+  {
+    jcBitbase newTables[] = Tables.clone();
+    newTables[ table.GetPieceType() / 2 ] = table;
+    Tables = newTables;
+  }
+
+  // public static jcBitbase GetInstalled
+  // The table in use for a piece type, or null
+  public static jcBitbase GetInstalled( int pieceType )
+  {
+    return Tables[ pieceType / 2 ];
+  }
+
+  // public static void LoadOrGenerate
+  // Install all the tables found in a directory; the missing ones are
+  // generated, using "threads" threads, and saved there for next time
+  public static void LoadOrGenerate( String directory, int threads ) throws Exception
+  {
+    new File( directory ).mkdirs();
+    for( int i = 0; i < SIGNATURES.length; i++ )
+    {
+      String fileName = FileName( directory, SIGNATURES[ i ] );
+      jcBitbase table;
+      if ( new File( fileName ).exists() )
+      {
+        table = Load( fileName );
+      }
+      else
+      {
+        table = new jcBitbaseGenerator( SIGNATURES[ i ], threads ).Generate();
+        table.Write( fileName );
+      }
+      Install( table );
+    }
+  }
+
+  // public static int Probe
+  // Look up the board in the installed tables.  Returns RESULT_UNKNOWN if
+  // the material on the board is not covered
+  public static int Probe( jcBoard theBoard )
+  {
+    long white = theBoard.GetBitBoard( jcBoard.ALL_WHITE_PIECES );
+    long black = theBoard.GetBitBoard( jcBoard.ALL_BLACK_PIECES );
+
+    // Cheap test first: exactly three pieces, one of them alone
+    if ( Long.bitCount( white | black ) != 3 )
+      return RESULT_UNKNOWN;
+    int strong;
+    if ( Long.bitCount( white ) == 2 )
+      strong = jcPlayer.SIDE_WHITE;
+    else if ( Long.bitCount( black ) == 2 )
+      strong = jcPlayer.SIDE_BLACK;
+    else
+      return RESULT_UNKNOWN;
+    int weak = 1 - strong;
+
+    // Which piece accompanies the strong king?
+    long strongKing = theBoard.GetBitBoard( jcBoard.KING + strong );
+    long weakKing = theBoard.GetBitBoard( jcBoard.KING + weak );
+    if ( ( Long.bitCount( strongKing ) != 1 ) || ( Long.bitCount( weakKing ) != 1 ) )
+      return RESULT_UNKNOWN;
+    long extra = ( ( strong == jcPlayer.SIDE_WHITE ) ? white : black ) & ~strongKing;
+    int pieceType = -1;
+    for( int type = jcBoard.PAWN; type < jcBoard.KING; type += 2 )
+    {
+      if ( theBoard.GetBitBoard( type + strong ) == extra )
+      {
+        pieceType = type;
+        break;
+      }
+    }
+    if ( pieceType < 0 )
+      return RESULT_UNKNOWN;
+    jcBitbase table = Tables[ pieceType / 2 ];
+    if ( table == null )
+      return RESULT_UNKNOWN;
+
+    // When Black is the strong side, flip the board vertically and swap the
+    // colours so that the table, computed for White, applies
+    int strongKingSq = Long.numberOfTrailingZeros( strongKing );
+    int weakKingSq = Long.numberOfTrailingZeros( weakKing );
+    int pieceSq = Long.numberOfTrailingZeros( extra );
+    int side = theBoard.GetCurrentPlayer();
+    if ( strong == jcPlayer.SIDE_BLACK )
+    {
+      strongKingSq ^= 56;
+      weakKingSq ^= 56;
+      pieceSq ^= 56;
+      side = 1 - side;
+    }
+
+    boolean win = table.IsWin( Index( side, strongKingSq, weakKingSq, pieceSq ) );
+    if ( !win )
+      return RESULT_DRAW;
+    if ( theBoard.GetCurrentPlayer() == strong )
+      return RESULT_WIN;
+    else
+      return RESULT_LOSS;
+  }
+}
@@ -0,0 +1,289 @@
+/****************************************************************************
+ * jcBitbaseGenerator.java - Computes the jcBitbase tables
+ *
+ * Purpose: Retrograde analysis of a three-piece endgame.  First, every
+ * position of the table is set up on a jcBoard, its legal moves are found
+ * with a jcMoveListGenerator, and the index of each successor position is
+ * remembered; mates are found along the way.  Then the results are
+ * propagated backwards until nothing changes anymore: a position with the
+ * strong side to move is won if ONE of its successors is, and a position
+ * with the weak side to move is won if ALL of its successors are.  Whatever
+ * isn't won at the end is a draw.
+ *
+ * Both steps are split in chunks of positions which are processed in
+ * parallel; positions only ever go from "unknown" to "won", so threads may
+ * safely update the shared status array while others read it.
+ *
+ * Usage: java javachess.jcBitbaseGenerator directory [threads]
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class jcBitbaseGenerator
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  // Position status during generation
+  private static final byte STATUS_UNKNOWN = 0;
+  private static final byte STATUS_WIN = 1;
+  private static final byte STATUS_DRAW = 2;
+  private static final byte STATUS_ILLEGAL = 3;
+
+  // Special successor codes, for moves which leave the table: a
+  // promotion into a won endgame, or anything leading to a draw
+  private static final int SUCCESSOR_WIN = -1;
+  private static final int SUCCESSOR_DRAW = -2;
+
+  // Number of chunks each thread gets, to balance the load
+  private static final int CHUNKS_PER_THREAD = 8;
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  private int PieceType;
+  private int Threads;
+  private byte Status[];
+  private int Successors[][];
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  public jcBitbaseGenerator( int pieceType, int threads )
+  {
+    PieceType = pieceType;
+    Threads = Math.max( 1, threads );
+  }
+
+  // public jcBitbase Generate
+  // Compute the table.  For KPK, the KQK and KRK tables must already be
+  // installed (see jcBitbase.Install)
+  public jcBitbase Generate() throws Exception
+  {
+    if ( ( PieceType == jcBoard.PAWN ) &&
+         ( ( jcBitbase.GetInstalled( jcBoard.QUEEN ) == null ) ||
+           ( jcBitbase.GetInstalled( jcBoard.ROOK ) == null ) ) )
+      throw new IllegalStateException( "KPK needs the KQK and KRK bitbases" );
+
+    Status = new byte[ jcBitbase.NUM_POSITIONS ];
+    Successors = new int[ jcBitbase.NUM_POSITIONS ][];
+
+    ExecutorService pool = Executors.newFixedThreadPool( Threads );
+    try
+    {
+      RunOnAllChunks( pool, true );
+      while( RunOnAllChunks( pool, false ) > 0 )
+        ;
+    }
+    finally
+    {
+      pool.shutdown();
+    }
+
+    // Pack the wins into bits, behind the file header
+    ByteBuffer buf = ByteBuffer.allocate( jcBitbase.HEADER_SIZE + jcBitbase.NUM_POSITIONS / 8 );
+    buf.putInt( 0, jcBitbase.MAGIC );
+    buf.putInt( 4, jcBitbase.VERSION );
+    buf.putInt( 8, PieceType );
+    for( int index = 0; index < jcBitbase.NUM_POSITIONS; index++ )
+    {
+      if ( Status[ index ] == STATUS_WIN )
+      {
+        int offset = jcBitbase.HEADER_SIZE + ( index >>> 3 );
+        buf.put( offset, (byte) ( buf.get( offset ) | ( 1 << ( index & 7 ) ) ) );
+      }
+    }
+    Status = null;
+    Successors = null;
+    return new jcBitbase( PieceType, buf );
+  }
+
+  // Generate all the tables in a directory
+  public static void main( String args[] ) throws Exception
+  {
+    if ( args.length < 1 )
+    {
+      System.out.println( "Usage: jcBitbaseGenerator directory [threads]" );
+      return;
+    }
+    int threads = ( args.length > 1 ) ? Integer.parseInt( args[ 1 ] ) :
+                                        Runtime.getRuntime().availableProcessors();
+    long start = System.currentTimeMillis();
+    jcBitbase.LoadOrGenerate( args[ 0 ], threads );
+    System.out.println( "Bitbases ready in " + ( System.currentTimeMillis() - start ) + " ms" );
+  }
+
+  /************************************************************************
+   * PRIVATE METHODS
+   ***********************************************************************/
+
+  // private int RunOnAllChunks
+  // Either set up every position ( initial == true ), or run one pass of
+  // the backwards propagation; returns the number of positions resolved
+  private int RunOnAllChunks( ExecutorService pool, final boolean initial ) throws Exception
+  {
+    int numChunks = Threads * CHUNKS_PER_THREAD;
+    int chunkSize = ( jcBitbase.NUM_POSITIONS + numChunks - 1 ) / numChunks;
+    List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+    for( int start = 0; start < jcBitbase.NUM_POSITIONS; start += chunkSize )
+    {
+      final int from = start;
+      final int to = Math.min( start + chunkSize, jcBitbase.NUM_POSITIONS );
+      results.add( pool.submit( new Callable<Integer>() {
+        public Integer call()
+        {
+          return( initial ? SetUpChunk( from, to ) : PropagateChunk( from, to ) );
+        }
+      } ) );
+    }
+    int total = 0;
+    for( Future<Integer> result : results )
+      total += result.get();
+    return total;
+  }
+
+  // private int SetUpChunk
+  // Find the legal successors of every position in [ from, to )
+  private int SetUpChunk( int from, int to )
+  {
+    jcBoard board = new jcBoard();
+    jcBoard successor = new jcBoard();
+    jcMoveListGenerator gen = new jcMoveListGenerator();
+    jcMoveListGenerator checker = new jcMoveListGenerator();
+    int squares[] = new int[ 3 ];
+    int pieces[] = { jcBoard.WHITE_KING, jcBoard.BLACK_KING, PieceType + jcPlayer.SIDE_WHITE };
+    int codes[] = new int[ 256 ];
+    int resolved = 0;
+
+    for( int index = from; index < to; index++ )
+    {
+      int side = index >>> 18;
+      squares[ 0 ] = ( index >>> 12 ) & 63;
+      squares[ 1 ] = ( index >>> 6 ) & 63;
+      squares[ 2 ] = index & 63;
+      if ( ( squares[ 0 ] == squares[ 1 ] ) || ( squares[ 0 ] == squares[ 2 ] ) ||
+           ( squares[ 1 ] == squares[ 2 ] ) ||
+           ( ( PieceType == jcBoard.PAWN ) && ( ( squares[ 2 ] < 8 ) || ( squares[ 2 ] >= 56 ) ) ) )
+      {
+        Status[ index ] = STATUS_ILLEGAL;
+        continue;
+      }
+
+      // If the side to move can capture the enemy king, the position can't
+      // happen in a game
+      board.SetupPosition( squares, pieces, 3, side );
+      if ( !gen.ComputeLegalMoves( board ) )
+      {
+        Status[ index ] = STATUS_ILLEGAL;
+        continue;
+      }
+
+      int numCodes = 0;
+      jcMove mov;
+      while( ( mov = gen.Next() ) != null )
+      {
+        successor.Clone( board );
+        successor.ApplyMove( mov );
+        if ( !checker.ComputeLegalMoves( successor ) )
+          continue;
+        codes[ numCodes++ ] = SuccessorCode( successor );
+      }
+
+      if ( numCodes == 0 )
+      {
+        // Mate or stalemate?  Only the weak side can be mated
+        successor.Clone( board );
+        successor.SwitchSides();
+        boolean inCheck = !checker.ComputeLegalMoves( successor );
+        Status[ index ] = ( inCheck && ( side == jcPlayer.SIDE_BLACK ) ) ? STATUS_WIN : STATUS_DRAW;
+        resolved++;
+        continue;
+      }
+
+      int list[] = new int[ numCodes ];
+      System.arraycopy( codes, 0, list, 0, numCodes );
+      Successors[ index ] = list;
+    }
+    return resolved;
+  }
+
+  // private int SuccessorCode
+  // The table index of a successor position, or one of the special codes
+  // when the move leaves the table
+  private int SuccessorCode( jcBoard successor )
+  {
+    int whiteKing = Long.numberOfTrailingZeros( successor.GetBitBoard( jcBoard.WHITE_KING ) );
+    int blackKing = Long.numberOfTrailingZeros( successor.GetBitBoard( jcBoard.BLACK_KING ) );
+    int side = successor.GetCurrentPlayer();
+
+    // The black king took the white piece
+    if ( Long.bitCount( successor.GetBitBoard( jcBoard.ALL_WHITE_PIECES ) ) < 2 )
+      return SUCCESSOR_DRAW;
+
+    long piece = successor.GetBitBoard( PieceType + jcPlayer.SIDE_WHITE );
+    if ( piece != 0 )
+      return jcBitbase.Index( side, whiteKing, blackKing, Long.numberOfTrailingZeros( piece ) );
+
+    // A pawn has been promoted; queens and rooks lead to another table, the
+    // minor pieces can't win
+    int newType;
+    if ( successor.GetBitBoard( jcBoard.WHITE_QUEEN ) != 0 )
+      newType = jcBoard.QUEEN;
+    else if ( successor.GetBitBoard( jcBoard.WHITE_ROOK ) != 0 )
+      newType = jcBoard.ROOK;
+    else
+      return SUCCESSOR_DRAW;
+    long promoted = successor.GetBitBoard( newType + jcPlayer.SIDE_WHITE );
+    int index = jcBitbase.Index( side, whiteKing, blackKing, Long.numberOfTrailingZeros( promoted ) );
+    return( jcBitbase.GetInstalled( newType ).IsWin( index ) ? SUCCESSOR_WIN : SUCCESSOR_DRAW );
+  }
+
+  // private int PropagateChunk
+  // One pass of backwards propagation over [ from, to )
+  private int PropagateChunk( int from, int to )
+  {
+    int resolved = 0;
+    for( int index = from; index < to; index++ )
+    {
+      if ( Status[ index ] != STATUS_UNKNOWN )
+        continue;
+      int list[] = Successors[ index ];
+      boolean whiteToMove = ( ( index >>> 18 ) == jcPlayer.SIDE_WHITE );
+
+      // White needs one winning move, Black needs one saving move
+      boolean win = !whiteToMove;
+      for( int i = 0; i < list.length; i++ )
+      {
+        int code = list[ i ];
+        boolean succWin = ( code == SUCCESSOR_WIN ) ||
+                          ( ( code >= 0 ) && ( Status[ code ] == STATUS_WIN ) );
+        if ( whiteToMove && succWin )
+        {
+          win = true;
+          break;
+        }
+        if ( !whiteToMove && !succWin )
+        {
+          win = false;
+          break;
+        }
+      }
+      if ( win )
+      {
+        Status[ index ] = STATUS_WIN;
+        Successors[ index ] = null;
+        resolved++;
+      }
+    }
+    return resolved;
+  }
+}
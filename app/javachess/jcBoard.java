@@ -11,6 +11,24 @@
  * 14.08.00 Made "HashLock" a relative clone of "HashKey"; the java
  *          Object.hashCode method is unsuitable to our purposes after all,
  *          probably because it includes memory addresses in the calculation.
+ * 19.10.26 Added incrementally maintained piece-square scores, for both the
+ *          middlegame and the endgame, and a tapered positional evaluation.
+ *          Added a 64-bit Zobrist key covering the pawns only, for the
+ *          benefit of jcPawnHashTable, and an incrementally maintained
+ *          64-bit key of the whole position, stable across runs so that it
+ *          can be stored on disk (see jcOpeningBook).
+ *          Castling rights are now lost when a rook is captured in its
+ *          corner, not only when something moves out of it.
+ * 19.10.26 Added a history of position keys and a halfmove clock, to
+ *          detect draws by repetition and by the fifty-move rule.
+ * 19.10.26 HashKey, HashLock, Print and Save find the pieces by bit
+ *          scanning instead of testing all 64 squares.
+ * 19.10.26 The en passant square is kept as a square index; the bitboard
+ *          form is still available from GetEnPassantPawn, and used in
+ *          saved games.
+ * 19.10.26 A 2-step pawn move only sets the en passant square when an
+ *          enemy pawn stands beside it, so that transposed positions get
+ *          the same key.
  ***************************************************************************/
 
 package javachess;
@@ -66,6 +84,9 @@ public class jcBoard
   public static final int ALL_BLACK_PIECES = ALL_PIECES + jcPlayer.SIDE_BLACK;
   public static final int ALL_BITBOARDS = 14;
 
+  // Value of GetEnPassantSquare when the last move was not a 2-step pawn move
+  public static final int NO_EN_PASSANT = -1;
+
   // The possible types of castling moves; add the "side" constant to
   // pick a specific move for a specific player
   public static final int CASTLE_KINGSIDE = 0;
@@ -84,6 +105,15 @@ public class jcBoard
   private static int HashKeyComponents[][];
   private static int HashLockComponents[][];
 
+  // 64-bit Zobrist signatures for "piece X is on square Y".  Unlike the
+  // 32-bit components above, these come from a fixed seed, so that keys
+  // remain valid from one run of the program to the next
+  public static long ZobristComponents[][];
+  public static long ZobristCastling[];
+  public static long ZobristEnPassant[];
+  public static long ZobristBlackToMove;
+  private static final long ZOBRIST_SEED = 0x6A09E667F3BCC908L;
+
   // Private table of tokens (string representations) for all pieces
   public static String PieceStrings[];
 
@@ -92,6 +122,26 @@ public class jcBoard
   private int NumPawns[ ];
   private static int PieceValues[ ];
 
+  // Piece-square tables, indexed by [piece][square], one set for the
+  // middlegame and one for the endgame.  The sums for each side are kept
+  // up to date by AddPiece and RemovePiece, along with the game phase, so
+  // that the positional evaluation costs nothing more than a blend
+  private int PositionalMidgame[ ];
+  private int PositionalEndgame[ ];
+  private int GamePhase;
+  private static int PieceSquareMidgame[ ][ ];
+  private static int PieceSquareEndgame[ ][ ];
+  private static int PhaseValues[ ];
+
+  // The game phase when all pieces are on the board; the endgame tables
+  // take over progressively as pieces are traded
+  public static final int MAX_PHASE = 24;
+
+  // Number of position keys remembered for repetition detection; a power of
+  // two, larger than the 100 plies allowed by the fifty-move rule
+  public static final int HISTORY_SIZE = 128;
+  private static final int HISTORY_MASK = HISTORY_SIZE - 1;
+
   // And a few flags for special conditions.  The ExtraKings are a device
   // used to detect illegal castling moves: the rules of chess forbid castling
   // when the king is in check or when the square it flies over is under
@@ -143,6 +193,26 @@ public class jcBoard
         HashLockComponents[ i ][ j ] = rnd.nextInt();
       }
     }
+    ZobristComponents = new long[ ALL_PIECES ][ ALL_SQUARES ];
+    Random zobristRnd = new Random( ZOBRIST_SEED );
+    for( int i = 0; i < ALL_PIECES; i++ )
+    {
+      for( int j = 0; j < ALL_SQUARES; j++ )
+      {
+        ZobristComponents[ i ][ j ] = zobristRnd.nextLong();
+      }
+    }
+    ZobristCastling = new long[ 4 ];
+    for( int i = 0; i < 4; i++ )
+    {
+      ZobristCastling[ i ] = zobristRnd.nextLong();
+    }
+    ZobristEnPassant = new long[ ALL_SQUARES ];
+    for( int i = 0; i < ALL_SQUARES; i++ )
+    {
+      ZobristEnPassant[ i ] = zobristRnd.nextLong();
+    }
+    ZobristBlackToMove = zobristRnd.nextLong();
 
     // Tokens representing the various concepts in the game, for printint
     // and file i/o purposes
@@ -176,6 +246,110 @@ public class jcBoard
     PieceValues[ WHITE_QUEEN ] = 900;
     PieceValues[ WHITE_KING ] = 2000;
     PieceValues[ BLACK_KING ] = 2000;
+
+    // Contribution of each piece to the game phase; pawns and kings don't
+    // count, so a position with only kings and pawns is a pure endgame
+    PhaseValues = new int[ ALL_PIECES ];
+    PhaseValues[ WHITE_KNIGHT ] = PhaseValues[ BLACK_KNIGHT ] = 1;
+    PhaseValues[ WHITE_BISHOP ] = PhaseValues[ BLACK_BISHOP ] = 1;
+    PhaseValues[ WHITE_ROOK ] = PhaseValues[ BLACK_ROOK ] = 2;
+    PhaseValues[ WHITE_QUEEN ] = PhaseValues[ BLACK_QUEEN ] = 4;
+
+    // Piece-square tables.  The tables below are written from White's point
+    // of view, with square 0 (Black's Queen's Rook corner) first, exactly
+    // like the board itself; Black's tables are their vertical mirror image
+    int midgame[][] = new int[ 6 ][];
+    int endgame[][] = new int[ 6 ][];
+    midgame[ PAWN / 2 ] = new int[] {
+        0,  0,  0,  0,  0,  0,  0,  0,
+       50, 50, 50, 50, 50, 50, 50, 50,
+       10, 10, 20, 30, 30, 20, 10, 10,
+        5,  5, 10, 25, 25, 10,  5,  5,
+        0,  0,  0, 20, 20,  0,  0,  0,
+        5, -5,-10,  0,  0,-10, -5,  5,
+        5, 10, 10,-20,-20, 10, 10,  5,
+        0,  0,  0,  0,  0,  0,  0,  0 };
+    endgame[ PAWN / 2 ] = new int[] {
+        0,  0,  0,  0,  0,  0,  0,  0,
+       80, 80, 80, 80, 80, 80, 80, 80,
+       50, 50, 50, 50, 50, 50, 50, 50,
+       30, 30, 30, 30, 30, 30, 30, 30,
+       20, 20, 20, 20, 20, 20, 20, 20,
+       10, 10, 10, 10, 10, 10, 10, 10,
+        0,  0,  0,  0,  0,  0,  0,  0,
+        0,  0,  0,  0,  0,  0,  0,  0 };
+    midgame[ KNIGHT / 2 ] = new int[] {
+      -50,-40,-30,-30,-30,-30,-40,-50,
+      -40,-20,  0,  0,  0,  0,-20,-40,
+      -30,  0, 10, 15, 15, 10,  0,-30,
+      -30,  5, 15, 20, 20, 15,  5,-30,
+      -30,  0, 15, 20, 20, 15,  0,-30,
+      -30,  5, 10, 15, 15, 10,  5,-30,
+      -40,-20,  0,  5,  5,  0,-20,-40,
+      -50,-40,-30,-30,-30,-30,-40,-50 };
+    endgame[ KNIGHT / 2 ] = midgame[ KNIGHT / 2 ];
+    midgame[ BISHOP / 2 ] = new int[] {
+      -20,-10,-10,-10,-10,-10,-10,-20,
+      -10,  0,  0,  0,  0,  0,  0,-10,
+      -10,  0,  5, 10, 10,  5,  0,-10,
+      -10,  5,  5, 10, 10,  5,  5,-10,
+      -10,  0, 10, 10, 10, 10,  0,-10,
+      -10, 10, 10, 10, 10, 10, 10,-10,
+      -10,  5,  0,  0,  0,  0,  5,-10,
+      -20,-10,-10,-10,-10,-10,-10,-20 };
+    endgame[ BISHOP / 2 ] = midgame[ BISHOP / 2 ];
+    midgame[ ROOK / 2 ] = new int[] {
+        0,  0,  0,  0,  0,  0,  0,  0,
+        5, 10, 10, 10, 10, 10, 10,  5,
+       -5,  0,  0,  0,  0,  0,  0, -5,
+       -5,  0,  0,  0,  0,  0,  0, -5,
+       -5,  0,  0,  0,  0,  0,  0, -5,
+       -5,  0,  0,  0,  0,  0,  0, -5,
+       -5,  0,  0,  0,  0,  0,  0, -5,
+        0,  0,  0,  5,  5,  0,  0,  0 };
+    endgame[ ROOK / 2 ] = midgame[ ROOK / 2 ];
+    midgame[ QUEEN / 2 ] = new int[] {
+      -20,-10,-10, -5, -5,-10,-10,-20,
+      -10,  0,  0,  0,  0,  0,  0,-10,
+      -10,  0,  5,  5,  5,  5,  0,-10,
+       -5,  0,  5,  5,  5,  5,  0, -5,
+        0,  0,  5,  5,  5,  5,  0, -5,
+      -10,  5,  5,  5,  5,  5,  0,-10,
+      -10,  0,  5,  0,  0,  0,  0,-10,
+      -20,-10,-10, -5, -5,-10,-10,-20 };
+    endgame[ QUEEN / 2 ] = midgame[ QUEEN / 2 ];
+    midgame[ KING / 2 ] = new int[] {
+      -30,-40,-40,-50,-50,-40,-40,-30,
+      -30,-40,-40,-50,-50,-40,-40,-30,
+      -30,-40,-40,-50,-50,-40,-40,-30,
+      -30,-40,-40,-50,-50,-40,-40,-30,
+      -20,-30,-30,-40,-40,-30,-30,-20,
+      -10,-20,-20,-20,-20,-20,-20,-10,
+       20, 20,  0,  0,  0,  0, 20, 20,
+       20, 30, 10,  0,  0, 10, 30, 20 };
+    endgame[ KING / 2 ] = new int[] {
+      -50,-40,-30,-20,-20,-30,-40,-50,
+      -30,-20,-10,  0,  0,-10,-20,-30,
+      -30,-10, 20, 30, 30, 20,-10,-30,
+      -30,-10, 30, 40, 40, 30,-10,-30,
+      -30,-10, 30, 40, 40, 30,-10,-30,
+      -30,-10, 20, 30, 30, 20,-10,-30,
+      -30,-30,  0,  0,  0,  0,-30,-30,
+      -50,-30,-30,-30,-30,-30,-30,-50 };
+
+    PieceSquareMidgame = new int[ ALL_PIECES ][ ALL_SQUARES ];
+    PieceSquareEndgame = new int[ ALL_PIECES ][ ALL_SQUARES ];
+    for( int type = 0; type < 6; type++ )
+    {
+      for( int sq = 0; sq < ALL_SQUARES; sq++ )
+      {
+        // Flipping the line number ( sq ^ 56 ) mirrors the board vertically
+        PieceSquareMidgame[ type * 2 + jcPlayer.SIDE_WHITE ][ sq ] = midgame[ type ][ sq ];
+        PieceSquareEndgame[ type * 2 + jcPlayer.SIDE_WHITE ][ sq ] = endgame[ type ][ sq ];
+        PieceSquareMidgame[ type * 2 + jcPlayer.SIDE_BLACK ][ sq ] = midgame[ type ][ sq ^ 56 ];
+        PieceSquareEndgame[ type * 2 + jcPlayer.SIDE_BLACK ][ sq ] = endgame[ type ][ sq ^ 56 ];
+      }
+    }
   }
 
   // The actual data representation of a chess board.  First, an array of
@@ -186,11 +360,31 @@ public class jcBoard
   // And a few other flags
   private boolean CastlingStatus[];
   private boolean HasCastled[];
-  private long EnPassantPawn;
+
+  // The square a pawn may move to when capturing en passant (the one the
+  // enemy pawn has just skipped over), or NO_EN_PASSANT
+  private int EnPassantSquare;
+
+  // Zobrist key of the pawn structure alone, maintained by AddPiece and
+  // RemovePiece; pawn structure evaluations are cached under this key
+  private long PawnKey;
+
+  // Zobrist key of the whole position: pieces, side to move, castling
+  // rights and en passant square.  Maintained incrementally by all the
+  // methods which change the position
+  private long PositionKey;
 
   // Whose turn is it?
   int CurrentPlayer;
 
+  // The keys of the positions before each move played on this board, in a
+  // ring indexed by HistoryCount, and the number of plies since the last
+  // capture or pawn move.  Positions before that move can't come back, so
+  // only the last HalfmoveClock keys are ever looked at (or copied)
+  private long History[];
+  private int HistoryCount;
+  private int HalfmoveClock;
+
 /**************************************************************************
  * METHODS
  **************************************************************************/
@@ -198,7 +392,14 @@ public class jcBoard
   // Accessors
   public boolean GetCastlingStatus( int which ) { return CastlingStatus[ which ]; }
   public boolean GetHasCastled( int which ) { return HasCastled[ which ]; }
-  public long GetEnPassantPawn() { return EnPassantPawn; }
+  public int GetEnPassantSquare() { return EnPassantSquare; }
+  public long GetEnPassantPawn()
+  {
+    // The same information, as a bitboard
+    if ( EnPassantSquare == NO_EN_PASSANT )
+      return 0;
+    return SquareBits[ EnPassantSquare ];
+  }
   public long GetExtraKings( int side ) { return ExtraKings[ side ]; }
   public void SetExtraKings( int side, long val )
   {
@@ -220,6 +421,8 @@ public class jcBoard
   }
   public int GetCurrentPlayer()  { return CurrentPlayer; }
   public long GetBitBoard( int which ) { return BitBoards[ which ]; }
+  public long GetPawnKey() { return PawnKey; }
+  public long GetPositionKey() { return PositionKey; }
 
   // Look for the piece located on a specific square
   public int FindBlackPiece( int square )
@@ -268,6 +471,9 @@ public class jcBoard
     ExtraKings = new long[ 2 ];
     NumPawns = new int[ 2 ];
     MaterialValue = new int[ 2 ];
+    PositionalMidgame = new int[ 2 ];
+    PositionalEndgame = new int[ 2 ];
+    History = new long[ HISTORY_SIZE ];
     StartingBoard();
   }
 
@@ -277,7 +483,7 @@ public class jcBoard
   // "allocate" jcBoards from a permanent array
   public boolean Clone( jcBoard target )
   {
-    EnPassantPawn = target.EnPassantPawn;
+    EnPassantSquare = target.EnPassantSquare;
     for( int i = 0; i < 4; i++ )
     {
       CastlingStatus[ i ] = target.CastlingStatus[ i ];
@@ -290,11 +496,25 @@ public class jcBoard
     MaterialValue[ 1 ] = target.MaterialValue[ 1 ];
     NumPawns[ 0 ] = target.NumPawns[ 0 ];
     NumPawns[ 1 ] = target.NumPawns[ 1 ];
+    PositionalMidgame[ 0 ] = target.PositionalMidgame[ 0 ];
+    PositionalMidgame[ 1 ] = target.PositionalMidgame[ 1 ];
+    PositionalEndgame[ 0 ] = target.PositionalEndgame[ 0 ];
+    PositionalEndgame[ 1 ] = target.PositionalEndgame[ 1 ];
+    GamePhase = target.GamePhase;
+    PawnKey = target.PawnKey;
+    PositionKey = target.PositionKey;
     ExtraKings[ 0 ] = target.ExtraKings[ 0 ];
     ExtraKings[ 1 ] = target.ExtraKings[ 1 ];
     HasCastled[ 0 ] = target.HasCastled[ 0 ];
     HasCastled[ 1 ] = target.HasCastled[ 1 ];
     CurrentPlayer = target.CurrentPlayer;
+    HistoryCount = target.HistoryCount;
+    HalfmoveClock = target.HalfmoveClock;
+    for( int i = Math.min( HalfmoveClock, HISTORY_SIZE ); i > 0; i-- )
+    {
+      int slot = ( HistoryCount - i ) & HISTORY_MASK;
+      History[ slot ] = target.History[ slot ];
+    }
     return true;
   }
 
@@ -302,26 +522,29 @@ public class jcBoard
   // Display the board on standard output
   public boolean Print()
   {
+    // Find out what stands on each square, visiting the pieces rather than
+    // the squares.  Don't show the "phantom kings" which the program places
+    // on the board to detect illegal attempts at castling over an attacked
+    // square
+    int contents[] = new int[ ALL_SQUARES ];
+    for( int i = 0; i < ALL_SQUARES; i++ )
+      contents[ i ] = EMPTY_SQUARE;
+    for( int piece = 0; piece < ALL_PIECES; piece++ )
+    {
+      long tmp = BitBoards[ piece ];
+      if ( ( piece == WHITE_KING ) || ( piece == BLACK_KING ) )
+        tmp &= ~ExtraKings[ piece % 2 ];
+      for( ; tmp != 0; tmp &= tmp - 1 )
+        contents[ Long.numberOfTrailingZeros( tmp ) ] = piece;
+    }
+
     for( int line = 0; line < 8; line++ )
     {
       System.out.println( "-----------------------------------------" );
       System.out.println( "|    |    |    |    |    |    |    |    |" );
       for( int col = 0; col < 8; col++ )
       {
-        long bits = SquareBits[ line * 8 + col ];
-
-        // Scan the bitboards to find a piece, if any
-        int piece = 0;
-        while ( ( piece < ALL_PIECES ) && ( ( bits & BitBoards[ piece ] ) == 0 ) )
-          piece++;
-
-        // One exception: don't show the "phantom kings" which the program places
-        // on the board to detect illegal attempts at castling over an attacked
-        // square
-        if ( ( piece == BLACK_KING ) && ( ( ExtraKings[ jcPlayer.SIDE_BLACK ] & SquareBits[ line * 8 + col ] ) != 0 ) )
-          piece = EMPTY_SQUARE;
-        if ( ( piece == WHITE_KING ) && ( ( ExtraKings[ jcPlayer.SIDE_WHITE ] & SquareBits[ line * 8 + col ] ) != 0 ) )
-          piece = EMPTY_SQUARE;
+        int piece = contents[ line * 8 + col ];
 
         // Show the piece
         System.out.print( "| " + PieceStrings[ piece ] + " " );
@@ -359,19 +582,18 @@ public class jcBoard
     for( int currPiece = 0; currPiece < ALL_PIECES; currPiece++ )
     {
       long tmp = BitBoards[ currPiece ];
-      // Search for all pieces on all squares.  We could optimize here: not
-      // looking for pawns on the back row (or the eight row), getting out
-      // of the "currSqaure" loop once we found one king of one color, etc.
-      // But for simplicity's sake, we'll keep things generic.
-      for( int currSquare = 0; currSquare < ALL_SQUARES; currSquare++ )
+      // Visit the squares where this piece is found, and only those: take
+      // the lowest bit set in tmp, then clear it
+      while( tmp != 0 )
       {
+        int currSquare = Long.numberOfTrailingZeros( tmp );
         // Zobrist's method: generate a bunch of random bitfields, each
         // representing a certain "piece X is on square Y" predicate; XOR
         // the bitfields associated with predicates which are true.
         // Therefore, if we find a piece (in tmp) in a certain square,
         // we accumulate the related HashKeyComponent.
-        if ( ( tmp & SquareBits[ currSquare ] ) != 0 )
-          hash ^= HashKeyComponents[ currPiece ][ currSquare ];
+        hash ^= HashKeyComponents[ currPiece ][ currSquare ];
+        tmp &= tmp - 1;
       }
     }
     return hash;
@@ -389,20 +611,72 @@ public class jcBoard
     for( int currPiece = 0; currPiece < ALL_PIECES; currPiece++ )
     {
       long tmp = BitBoards[ currPiece ];
-      for( int currSquare = 0; currSquare < ALL_SQUARES; currSquare++ )
+      while( tmp != 0 )
       {
-        if ( ( tmp & SquareBits[ currSquare ] ) != 0 )
-          hash ^= HashLockComponents[ currPiece ][ currSquare ];
+        hash ^= HashLockComponents[ currPiece ][ Long.numberOfTrailingZeros( tmp ) ];
+        tmp &= tmp - 1;
       }
     }
     return hash;
   }
 
+  // public int GetHalfmoveClock
+  // Number of plies since the last capture or pawn move
+  public int GetHalfmoveClock() { return HalfmoveClock; }
+
+  // public int RepetitionCount
+  // How many times the current position has occurred before, with the same
+  // side to move; only the positions since the last capture or pawn move
+  // need to be looked at, two plies at a time
+  public int RepetitionCount()
+  {
+    int count = 0;
+    int limit = Math.min( Math.min( HalfmoveClock, HistoryCount ), HISTORY_SIZE );
+    for( int i = 4; i <= limit; i += 2 )
+    {
+      if ( History[ ( HistoryCount - i ) & HISTORY_MASK ] == PositionKey )
+        count++;
+    }
+    return count;
+  }
+
+  // public boolean IsRepetition
+  // Has the current position occurred before?  Good enough for the search,
+  // which can score the first repetition as a draw
+  public boolean IsRepetition()
+  {
+    return( RepetitionCount() > 0 );
+  }
+
+  // public boolean IsThreefoldRepetition
+  // Is this the third occurrence of the position?
+  public boolean IsThreefoldRepetition()
+  {
+    return( RepetitionCount() >= 2 );
+  }
+
+  // public boolean IsFiftyMoveDraw
+  // Have fifty moves been played by each side without capture or pawn move?
+  public boolean IsFiftyMoveDraw()
+  {
+    return( HalfmoveClock >= 100 );
+  }
+
   // public boolean ApplyMove
   // Change the jcBoard's internal representation to reflect the move
   // received as a parameter
   public boolean ApplyMove( jcMove theMove )
   {
+    // Remember the position we are leaving, and whether it can ever occur
+    // again
+    History[ HistoryCount & HISTORY_MASK ] = PositionKey;
+    HistoryCount++;
+    if ( ( theMove.MovingPiece == WHITE_PAWN ) || ( theMove.MovingPiece == BLACK_PAWN ) ||
+         ( theMove.CapturedPiece != EMPTY_SQUARE ) )
+      HalfmoveClock = 0;
+    else
+      HalfmoveClock++;
+
     // If the move includes a pawn promotion, an extra step will be required
     // at the end
     boolean isPromotion = ( theMove.MoveType >= jcMove.MOVE_PROMOTION_KNIGHT );
@@ -511,13 +785,16 @@ public class jcBoard
       }
     }
 
-    // If this was a 2-step pawn move, we now have a valid en passant
-    // capture possibility.  Otherwise, no.
+    // If this was a 2-step pawn move next to an enemy pawn, we now have a
+    // valid en passant capture possibility.  Otherwise, no: a square nobody
+    // can capture on would only give the same position two different keys
     if ( ( theMove.MovingPiece == jcBoard.WHITE_PAWN ) &&
-         ( theMove.SourceSquare - theMove.DestinationSquare == 16 ) )
+         ( theMove.SourceSquare - theMove.DestinationSquare == 16 ) &&
+         HasPawnBeside( theMove.DestinationSquare, jcBoard.BLACK_PAWN ) )
       SetEnPassantPawn( theMove.DestinationSquare + 8 );
     else if ( ( theMove.MovingPiece == jcBoard.BLACK_PAWN ) &&
-              ( theMove.DestinationSquare - theMove.SourceSquare == 16 ) )
+              ( theMove.DestinationSquare - theMove.SourceSquare == 16 ) &&
+              HasPawnBeside( theMove.DestinationSquare, jcBoard.WHITE_PAWN ) )
       SetEnPassantPawn( theMove.SourceSquare + 8 );
     else
       ClearEnPassantPawn();
@@ -560,6 +837,26 @@ public class jcBoard
         break;
     }
 
+    // The same goes for anything which moves TO a corner, since it can only
+    // get there by capturing the rook, if the rook was still there
+    switch( theMove.DestinationSquare )
+    {
+      case 0:
+        SetCastlingStatus( CASTLE_QUEENSIDE + jcPlayer.SIDE_BLACK, false );
+        break;
+      case 7:
+        SetCastlingStatus( CASTLE_KINGSIDE + jcPlayer.SIDE_BLACK, false );
+        break;
+      case 56:
+        SetCastlingStatus( CASTLE_QUEENSIDE + jcPlayer.SIDE_WHITE, false );
+        break;
+      case 63:
+        SetCastlingStatus( CASTLE_KINGSIDE + jcPlayer.SIDE_WHITE, false );
+        break;
+      default:
+        break;
+    }
+
     // All that remains to do is switch sides
     SetCurrentPlayer( ( GetCurrentPlayer() + 1 ) % 2 );
     return true;
@@ -640,27 +937,18 @@ public class jcBoard
     bw.newLine();
 
     // Count the pieces on the board
-    int numPieces = 0;
-    for( int i = 0; i < ALL_SQUARES; i++ )
-    {
-      if ( ( SquareBits[ i ] & BitBoards[ ALL_WHITE_PIECES ] ) != 0 )
-        numPieces++;
-      if ( ( SquareBits[ i ] & BitBoards[ ALL_BLACK_PIECES ] ) != 0 )
-        numPieces++;
-    }
+    int numPieces = Long.bitCount( BitBoards[ ALL_WHITE_PIECES ] ) +
+                    Long.bitCount( BitBoards[ ALL_BLACK_PIECES ] );
     bw.write( String.valueOf( numPieces ) );
     bw.newLine();
 
     // Dump the pieces, one by one
     for( int piece = 0; piece < ALL_PIECES; piece++ )
     {
-      for( int square = 0; square < ALL_SQUARES; square++ )
+      for( long tmp = BitBoards[ piece ]; tmp != 0; tmp &= tmp - 1 )
       {
-        if ( ( BitBoards[ piece ] & SquareBits[ square ] ) != 0 )
-        {
-          bw.write( PieceStrings[ piece ] + " " + String.valueOf( square ) );
-          bw.newLine();
-        }
+        bw.write( PieceStrings[ piece ] + " " + String.valueOf( Long.numberOfTrailingZeros( tmp ) ) );
+        bw.newLine();
       }
     }
 
@@ -674,7 +962,7 @@ public class jcBoard
       bw.newLine();
     }
 
-    bw.write( String.valueOf( EnPassantPawn ) );
+    bw.write( String.valueOf( GetEnPassantPawn() ) );
 
     bw.close();
     return true;
@@ -720,6 +1008,55 @@ public class jcBoard
    }
   }
 
+  // public int EvalPositional
+  // Compute the piece-square balance from the point of view of the "side"
+  // player, blending the middlegame and endgame scores according to the
+  // material left on the board.  Everything is maintained incrementally,
+  // so this is O(1)
+  public int EvalPositional( int side )
+  {
+    int otherSide = ( side + 1 ) % 2;
+    int midgame = PositionalMidgame[ side ] - PositionalMidgame[ otherSide ];
+    int endgame = PositionalEndgame[ side ] - PositionalEndgame[ otherSide ];
+    int phase = Math.min( GamePhase, MAX_PHASE );
+    return( ( midgame * phase + endgame * ( MAX_PHASE - phase ) ) / MAX_PHASE );
+  }
+
+  // public int Evaluate
+  // The complete static evaluation of the board, from the point of view of
+  // the "side" player
+  public int Evaluate( int side )
+  {
+    return EvalMaterial( side ) + EvalPositional( side );
+  }
+
+  // public int GetGamePhase
+  // MAX_PHASE at the start of the game, down to 0 when only kings and pawns
+  // remain (promotions may push it above MAX_PHASE)
+  public int GetGamePhase() { return GamePhase; }
+
+  // public boolean SetupPosition
+  // Replace the board with an arbitrary position: "count" pieces, where
+  // pieces[ i ] stands on squares[ i ], and "side" to move.  Castling and en
+  // passant captures are not allowed in such a position.  Used to enumerate
+  // the positions of a simple endgame, for example
+  public boolean SetupPosition( int squares[], int pieces[], int count, int side )
+  {
+    EmptyBoard();
+    for( int i = 0; i < 4; i++ )
+    {
+      SetCastlingStatus( i, false );
+    }
+    HasCastled[ 0 ] = false;
+    HasCastled[ 1 ] = false;
+    for( int i = 0; i < count; i++ )
+    {
+      AddPiece( squares[ i ], pieces[ i ] );
+    }
+    SetCurrentPlayer( side );
+    return true;
+  }
+
   // public boolean StartingBoard
   // Restore the board to a game-start position
   public boolean StartingBoard()
@@ -755,7 +1092,7 @@ public class jcBoard
     // And allow all castling moves
     for( int i = 0; i < 4; i++ )
     {
-      CastlingStatus[ i ] = true;
+      SetCastlingStatus( i, true );
     }
     HasCastled[ 0 ] = false;
     HasCastled[ 1 ] = false;
@@ -782,13 +1119,25 @@ public class jcBoard
     // all pieces of a given color are represented by numbers of the same
     // parity
     BitBoards[ ALL_PIECES + ( whichPiece % 2 ) ] |= SquareBits[ whichSquare ];
+    PositionKey ^= ZobristComponents[ whichPiece ][ whichSquare ];
 
     // And adjust material balance accordingly
     MaterialValue[ whichPiece % 2 ] += PieceValues[ whichPiece ];
     if ( whichPiece == WHITE_PAWN )
+    {
       NumPawns[ jcPlayer.SIDE_WHITE ]++;
+      PawnKey ^= ZobristComponents[ whichPiece ][ whichSquare ];
+    }
     else if ( whichPiece == BLACK_PAWN )
+    {
       NumPawns[ jcPlayer.SIDE_BLACK ]++;
+      PawnKey ^= ZobristComponents[ whichPiece ][ whichSquare ];
+    }
+
+    // And the positional scores
+    PositionalMidgame[ whichPiece % 2 ] += PieceSquareMidgame[ whichPiece ][ whichSquare ];
+    PositionalEndgame[ whichPiece % 2 ] += PieceSquareEndgame[ whichPiece ][ whichSquare ];
+    GamePhase += PhaseValues[ whichPiece ];
 
     return true;
   }
@@ -802,13 +1151,24 @@ public class jcBoard
     // Remove the piece itself
     BitBoards[ whichPiece ] ^= SquareBits[ whichSquare ];
     BitBoards[ ALL_PIECES + ( whichPiece % 2 ) ] ^= SquareBits[ whichSquare ];
+    PositionKey ^= ZobristComponents[ whichPiece ][ whichSquare ];
 
     // And adjust material balance accordingly
     MaterialValue[ whichPiece % 2 ] -= PieceValues[ whichPiece ];
     if ( whichPiece == WHITE_PAWN )
+    {
       NumPawns[ jcPlayer.SIDE_WHITE ]--;
+      PawnKey ^= ZobristComponents[ whichPiece ][ whichSquare ];
+    }
     else if ( whichPiece == BLACK_PAWN )
+    {
       NumPawns[ jcPlayer.SIDE_BLACK ]--;
+      PawnKey ^= ZobristComponents[ whichPiece ][ whichSquare ];
+    }
+
+    PositionalMidgame[ whichPiece % 2 ] -= PieceSquareMidgame[ whichPiece ][ whichSquare ];
+    PositionalEndgame[ whichPiece % 2 ] -= PieceSquareEndgame[ whichPiece ][ whichSquare ];
+    GamePhase -= PhaseValues[ whichPiece ];
     return true;
   }
 
@@ -823,11 +1183,30 @@ public class jcBoard
     }
     ExtraKings[ 0 ] = 0;
     ExtraKings[ 1 ] = 0;
-    EnPassantPawn = 0;
+    EnPassantSquare = NO_EN_PASSANT;
     MaterialValue[ 0 ] = 0;
     MaterialValue[ 1 ] = 0;
     NumPawns[ 0 ] = 0;
     NumPawns[ 1 ] = 0;
+    PositionalMidgame[ 0 ] = 0;
+    PositionalMidgame[ 1 ] = 0;
+    PositionalEndgame[ 0 ] = 0;
+    PositionalEndgame[ 1 ] = 0;
+    GamePhase = 0;
+    PawnKey = 0;
+    HistoryCount = 0;
+    HalfmoveClock = 0;
+
+    // The castling flags and the side to move survive an empty board, so
+    // their contributions to the key must too
+    PositionKey = 0;
+    for( int i = 0; i < 4; i++ )
+    {
+      if ( CastlingStatus[ i ] )
+        PositionKey ^= ZobristCastling[ i ];
+    }
+    if ( CurrentPlayer == jcPlayer.SIDE_BLACK )
+      PositionKey ^= ZobristBlackToMove;
     return true;
   }
 
@@ -837,23 +1216,42 @@ public class jcBoard
   // move identifier, for example, jcPlayer.SIDE_WHITE + CASTLE_QUEENSIDE
   private boolean SetCastlingStatus( int whichFlag, boolean newValue )
   {
+    if ( CastlingStatus[ whichFlag ] != newValue )
+      PositionKey ^= ZobristCastling[ whichFlag ];
     CastlingStatus[ whichFlag ] = newValue;
     return true;
   }
 
   // private boolean SetEnPassantPawn
-  // If a pawn move has just made en passant capture possible, mark it as
-  // such in a bitboard (containing the en passant square only)
+  // If a pawn move has just made en passant capture possible, remember the
+  // square it skipped over
   private boolean SetEnPassantPawn( int square )
   {
     ClearEnPassantPawn();
-    EnPassantPawn |= SquareBits[ square ];
+    EnPassantSquare = square;
+    PositionKey ^= ZobristEnPassant[ square ];
     return true;
   }
 
+  // private boolean HasPawnBeside
+  // Is there a pawn of the given kind on either side of the square, on the
+  // same line?
+  private boolean HasPawnBeside( int square, int pawn )
+  {
+    long beside = 0;
+    if ( ( square % 8 ) != 0 )
+      beside |= SquareBits[ square - 1 ];
+    if ( ( square % 8 ) != 7 )
+      beside |= SquareBits[ square + 1 ];
+    return( ( BitBoards[ pawn ] & beside ) != 0 );
+  }
+
+  // Saved games store the en passant square as a bitboard
   private boolean SetEnPassantPawn( long bitboard )
   {
-    EnPassantPawn = bitboard;
+    ClearEnPassantPawn();
+    if ( bitboard != 0 )
+      SetEnPassantPawn( Long.numberOfTrailingZeros( bitboard ) );
     return true;
   }
 
@@ -866,7 +1264,9 @@ public class jcBoard
   // disastrous consequences!
   private boolean ClearEnPassantPawn()
   {
-    EnPassantPawn = 0;
+    if ( EnPassantSquare != NO_EN_PASSANT )
+      PositionKey ^= ZobristEnPassant[ EnPassantSquare ];
+    EnPassantSquare = NO_EN_PASSANT;
     return true;
   }
 
@@ -874,6 +1274,8 @@ public class jcBoard
   // Whose turn is it?
   private boolean SetCurrentPlayer( int which )
   {
+    if ( CurrentPlayer != which )
+      PositionKey ^= ZobristBlackToMove;
     CurrentPlayer = which;
     return true;
   }
@@ -0,0 +1,215 @@
+/****************************************************************************
+ * jcEngineScheduler.java - Shares a fixed number of threads among searches
+ *
+ * Purpose: Searching is CPU-bound, and running it on the web server's own
+ * request threads would starve every other request.  The scheduler owns a
+ * fixed number of worker threads and a bounded number of admitted jobs;
+ * once the limit is reached, Submit refuses new work instead of letting the
+ * backlog (and response times) grow without bound.
+ *
+ * Workers take jobs from a single FIFO queue, run them for one quantum, and
+ * put them back at the end of the queue if they are not over, so that
+ * many simultaneous games all make progress at the same rate, whatever
+ * their individual time limits.
+ *
+ * Metrics: number of jobs queued and running, submitted, rejected and
+ * completed jobs, and the time jobs spend waiting in the queue.
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class jcEngineScheduler
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  public static final long DEFAULT_QUANTUM_MILLIS = 50;
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  private int Capacity;
+  private long QuantumMillis;
+  private LinkedBlockingQueue<jcSearchJob> Queue;
+  private Thread Workers[];
+  private volatile boolean ShuttingDown;
+
+  // Jobs admitted and not yet finished, queued or running
+  private AtomicInteger Admitted;
+  private AtomicInteger Running;
+
+  // Counters
+  private AtomicLong Submitted;
+  private AtomicLong Rejected;
+  private AtomicLong Completed;
+  private AtomicLong Dispatches;
+  private AtomicLong TotalWaitNanos;
+  private AtomicLong MaxWaitNanos;
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  // Constructor: "threads" workers, at most "capacity" jobs in the system
+  // at any time, each running "quantumMillis" at a time
+  public jcEngineScheduler( int threads, int capacity, long quantumMillis )
+  {
+    Capacity = Math.max( 1, capacity );
+    QuantumMillis = Math.max( 1, quantumMillis );
+    Queue = new LinkedBlockingQueue<jcSearchJob>();
+    Admitted = new AtomicInteger();
+    Running = new AtomicInteger();
+    Submitted = new AtomicLong();
+    Rejected = new AtomicLong();
+    Completed = new AtomicLong();
+    Dispatches = new AtomicLong();
+    TotalWaitNanos = new AtomicLong();
+    MaxWaitNanos = new AtomicLong();
+
+    Workers = new Thread[ Math.max( 1, threads ) ];
+    for( int i = 0; i < Workers.length; i++ )
+    {
+      Workers[ i ] = new Thread( new Runnable() {
+        public void run() { WorkLoop(); }
+      }, "jcEngineScheduler-" + i );
+      Workers[ i ].setDaemon( true );
+      Workers[ i ].setPriority( Thread.NORM_PRIORITY - 1 );
+      Workers[ i ].start();
+    }
+  }
+
+  // public boolean Submit
+  // Admit a job; returns false, and does nothing, if the scheduler is full
+  // or shutting down
+  public boolean Submit( jcSearchJob job )
+  {
+    Submitted.incrementAndGet();
+    if ( ShuttingDown )
+    {
+      Rejected.incrementAndGet();
+      return false;
+    }
+    while( true )
+    {
+      int current = Admitted.get();
+      if ( current >= Capacity )
+      {
+        Rejected.incrementAndGet();
+        return false;
+      }
+      if ( Admitted.compareAndSet( current, current + 1 ) )
+        break;
+    }
+    Enqueue( job );
+    return true;
+  }
+
+  // public void Shutdown
+  // Cancel every job and stop the workers; waits at most "timeoutMillis"
+  public void Shutdown( long timeoutMillis ) throws InterruptedException
+  {
+    ShuttingDown = true;
+    for( jcSearchJob job : Queue )
+      job.Cancel();
+    for( int i = 0; i < Workers.length; i++ )
+      Workers[ i ].interrupt();
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    for( int i = 0; i < Workers.length; i++ )
+      Workers[ i ].join( Math.max( 1, deadline - System.currentTimeMillis() ) );
+  }
+
+  // Metrics
+  public int GetThreads() { return Workers.length; }
+  public int GetCapacity() { return Capacity; }
+  public long GetQuantumMillis() { return QuantumMillis; }
+  public int GetQueueDepth() { return Queue.size(); }
+  public int GetRunning() { return Running.get(); }
+  public int GetAdmitted() { return Admitted.get(); }
+  public long GetSubmitted() { return Submitted.get(); }
+  public long GetRejected() { return Rejected.get(); }
+  public long GetCompleted() { return Completed.get(); }
+  public long GetMaxWaitMillis() { return MaxWaitNanos.get() / 1000000L; }
+
+  // public double GetAverageWaitMillis
+  // Average time spent in the queue before each slice
+  public double GetAverageWaitMillis()
+  {
+    long dispatches = Dispatches.get();
+    if ( dispatches == 0 )
+      return 0;
+    return( TotalWaitNanos.get() / 1000000.0 / dispatches );
+  }
+
+  /************************************************************************
+   * PRIVATE METHODS
+   ***********************************************************************/
+
+  private void Enqueue( jcSearchJob job )
+  {
+    job.EnqueuedAt = System.nanoTime();
+    Queue.add( job );
+  }
+
+  // private void WorkLoop
+  // What each worker thread does until shutdown
+  private void WorkLoop()
+  {
+    while( !ShuttingDown || !Queue.isEmpty() )
+    {
+      jcSearchJob job;
+      try
+      {
+        job = Queue.poll( 1, TimeUnit.SECONDS );
+      }
+      catch( InterruptedException e )
+      {
+        continue;
+      }
+      if ( job == null )
+        continue;
+
+      long wait = System.nanoTime() - job.EnqueuedAt;
+      Dispatches.incrementAndGet();
+      TotalWaitNanos.addAndGet( wait );
+      long max;
+      while( ( ( max = MaxWaitNanos.get() ) < wait ) && !MaxWaitNanos.compareAndSet( max, wait ) )
+        ;
+
+      boolean over;
+      Running.incrementAndGet();
+      try
+      {
+        if ( ShuttingDown )
+          job.Cancel();
+        over = job.RunSlice( QuantumMillis );
+      }
+      catch( RuntimeException e )
+      {
+        // A buggy job must not kill the worker, nor stay in the queue forever
+        System.err.println( "jcEngineScheduler: search failed: " + e );
+        job.Cancel();
+        over = job.IsDone() || job.Finish();
+      }
+      finally
+      {
+        Running.decrementAndGet();
+      }
+
+      if ( over )
+      {
+        Admitted.decrementAndGet();
+        Completed.incrementAndGet();
+      }
+      else
+        Enqueue( job );
+    }
+  }
+}
@@ -0,0 +1,229 @@
+/****************************************************************************
+ * jcExplorerStats.java - Results of the games, by position and move
+ *
+ * Purpose: An opening explorer shows, for a position, the moves played in
+ * it and how the games which played them ended.  Counting that from the
+ * transcripts for every request is out of the question, so the counts are
+ * kept here, keyed by jcBoard.GetPositionKey and the move packed as in
+ * jcOpeningBook, and updated whenever a game ends.
+ *
+ * The table is open-addressed, as parallel arrays of primitives.  The home
+ * slot of an entry depends on its position only, and entries are never
+ * removed, so with linear probing all the moves of a position lie between
+ * that slot and the next empty one: a position is answered by one short
+ * scan.  The table doubles in size whenever it gets half full.
+ *
+ * All the public methods are synchronized, so that the table can be shared
+ * by the request threads.  A snapshot can be saved to a stream, and read
+ * back:
+ *   int  MAGIC
+ *   int  VERSION
+ *   int  number of entries
+ *   entries, ENTRY_SIZE bytes each:
+ *     long  position key
+ *     short move
+ *     int   white wins, draws, black wins
+ *
+ * History:
+ * 19.10.26 Creation
+ * 19.10.26 VERSION 2, for the position keys of jcOpeningBook VERSION 2
+ ***************************************************************************/
+package javachess;
+import java.io.*;
+
+public class jcExplorerStats
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  public static final int MAGIC = 0x4A435853;  // "JCXS"
+  public static final int VERSION = 2;
+  public static final int ENTRY_SIZE = 22;
+
+  // Default number of slots; must be a power of two
+  public static final int DEFAULT_SIZE = 1 << 16;
+
+  // The results counted for each move
+  public static final int WHITE_WINS = 0;
+  public static final int DRAWS = 1;
+  public static final int BLACK_WINS = 2;
+  public static final int RESULTS = 3;
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  // The table itself.  A packed move is never 0 (a piece cannot move to
+  // its own square), so 0 marks an empty slot
+  private long Keys[];
+  private short Moves[];
+  private int Counts[];
+  private int Mask;
+  private int Entries;
+
+  // The number of games recorded, which tells whether anything changed
+  // since the last snapshot
+  private long Games;
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  public jcExplorerStats()
+  {
+    this( DEFAULT_SIZE );
+  }
+
+  public jcExplorerStats( int size )
+  {
+    // Round the size up to a power of two
+    int actual = 1;
+    while( actual < size )
+      actual <<= 1;
+    Allocate( actual );
+  }
+
+  // public void AddGame
+  // Count a game's result ( WHITE_WINS, DRAWS or BLACK_WINS ) for the first
+  // "count" of its moves: moves[ i ] was played in the position keys[ i ]
+  public synchronized void AddGame( long keys[], int moves[], int count, int result )
+  {
+    for( int i = 0; i < count; i++ )
+    {
+      if ( ( Entries + 1 ) * 2 > Keys.length )
+        Grow();
+      Counts[ Find( keys[ i ], moves[ i ] ) * RESULTS + result ]++;
+    }
+    Games++;
+  }
+
+  // public int GetMoves
+  // Copy the packed moves of a position, and their results ( RESULTS
+  // counts per move ), into the arrays provided; returns the number of
+  // moves found
+  public synchronized int GetMoves( long key, int moves[], int counts[] )
+  {
+    int found = 0;
+    for( int slot = (int) key & Mask; Moves[ slot ] != 0; slot = ( slot + 1 ) & Mask )
+    {
+      if ( Keys[ slot ] != key )
+        continue;
+      if ( found == moves.length )
+        break;
+      moves[ found ] = Moves[ slot ];
+      System.arraycopy( Counts, slot * RESULTS, counts, found * RESULTS, RESULTS );
+      found++;
+    }
+    return found;
+  }
+
+  // public void Save
+  // Write a snapshot of the table.  The lock is only held while the arrays
+  // are copied, not while they are written
+  public void Save( OutputStream stream ) throws IOException
+  {
+    long keys[];
+    short moves[];
+    int counts[];
+    int entries;
+    synchronized( this )
+    {
+      keys = Keys.clone();
+      moves = Moves.clone();
+      counts = Counts.clone();
+      entries = Entries;
+    }
+
+    DataOutputStream out = new DataOutputStream( new BufferedOutputStream( stream ) );
+    out.writeInt( MAGIC );
+    out.writeInt( VERSION );
+    out.writeInt( entries );
+    for( int slot = 0; slot < keys.length; slot++ )
+    {
+      if ( moves[ slot ] == 0 )
+        continue;
+      out.writeLong( keys[ slot ] );
+      out.writeShort( moves[ slot ] );
+      for( int result = 0; result < RESULTS; result++ )
+        out.writeInt( counts[ slot * RESULTS + result ] );
+    }
+    out.flush();
+  }
+
+  // public static jcExplorerStats Load
+  // Read a table saved by Save
+  public static jcExplorerStats Load( InputStream stream ) throws IOException
+  {
+    DataInputStream in = new DataInputStream( new BufferedInputStream( stream ) );
+    if ( in.readInt() != MAGIC )
+      throw new IOException( "Not explorer statistics" );
+    int version = in.readInt();
+    if ( version != VERSION )
+      throw new IOException( "Unsupported explorer statistics version " + version );
+    int entries = in.readInt();
+    if ( entries < 0 )
+      throw new IOException( "Corrupt explorer statistics" );
+
+    jcExplorerStats stats = new jcExplorerStats( Math.max( DEFAULT_SIZE, entries * 2 + 2 ) );
+    for( int i = 0; i < entries; i++ )
+    {
+      long key = in.readLong();
+      int slot = stats.Find( key, in.readShort() );
+      for( int result = 0; result < RESULTS; result++ )
+        stats.Counts[ slot * RESULTS + result ] = in.readInt();
+    }
+    return stats;
+  }
+
+  // Accessors
+  public synchronized int Size() { return Entries; }
+  public synchronized long GetGames() { return Games; }
+
+  /************************************************************************
+   * PRIVATE METHODS
+   ***********************************************************************/
+
+  private void Allocate( int size )
+  {
+    Keys = new long[ size ];
+    Moves = new short[ size ];
+    Counts = new int[ size * RESULTS ];
+    Mask = size - 1;
+    Entries = 0;
+  }
+
+  // private int Find
+  // The slot of a position's move, taking an empty one if it is new
+  private int Find( long key, int move )
+  {
+    int slot = (int) key & Mask;
+    while( Moves[ slot ] != 0 )
+    {
+      if ( ( Keys[ slot ] == key ) && ( Moves[ slot ] == move ) )
+        return slot;
+      slot = ( slot + 1 ) & Mask;
+    }
+    Keys[ slot ] = key;
+    Moves[ slot ] = (short) move;
+    Entries++;
+    return slot;
+  }
+
+  // private void Grow
+  // Double the size of the table, moving every entry to its new slot
+  private void Grow()
+  {
+    long keys[] = Keys;
+    short moves[] = Moves;
+    int counts[] = Counts;
+    Allocate( keys.length * 2 );
+    for( int old = 0; old < keys.length; old++ )
+    {
+      if ( moves[ old ] == 0 )
+        continue;
+      int slot = Find( keys[ old ], moves[ old ] );
+      System.arraycopy( counts, old * RESULTS, Counts, slot * RESULTS, RESULTS );
+    }
+  }
+}
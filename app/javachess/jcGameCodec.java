@@ -0,0 +1,243 @@
+/****************************************************************************
+ * jcGameCodec.java - A compact binary form of transcripts
+ *
+ * Purpose: A transcript row costs tens of bytes per move; archived games
+ * and bulk exports don't need that.  Since a game is only ever replayed
+ * from the starting position, a move can be written as its index among
+ * the legal moves of the position it was played in, which fits in a byte:
+ *   byte  VERSION, plus FLAG_DEFLATED if the rest is compressed
+ *   one byte per transcript entry: the index of the move in the position's
+ *     strictly legal moves sorted by jcOpeningBook.PackMove, or CODE_DRAW
+ *     or CODE_RESIGNATION, which can only come last
+ * The order of the moves depends on the position alone, not on the way
+ * jcMoveListGenerator happens to produce them.  Compression is only used
+ * when it makes the game smaller, which takes a long game.
+ *
+ * Decoding replays the game, so whatever decodes is a legal game: there is
+ * no need to validate it again.
+ *
+ * A codec is not thread-safe; each thread gets its own from
+ * ForCurrentThread, like jcGameValidator.
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class jcGameCodec
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  public static final int VERSION = 1;
+  public static final int FLAG_DEFLATED = 0x80;
+
+  // The entries which are not moves; no position has more than 218 legal
+  // moves, so these can never be mistaken for an index
+  public static final int CODE_DRAW = 254;
+  public static final int CODE_RESIGNATION = 255;
+
+  // The most legal moves in any position, rounded up
+  private static final int MAX_MOVES = 256;
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  // One codec per thread, created on first use
+  private static final ThreadLocal<jcGameCodec> PerThread =
+    new ThreadLocal<jcGameCodec>()
+    {
+      protected jcGameCodec initialValue()
+      {
+        return new jcGameCodec();
+      }
+    };
+
+  private jcBoard Board;
+  private jcMoveListGenerator Generator;
+  private jcMove Parsed;
+
+  // The packed legal moves of the current position, in order
+  private int Sorted[];
+
+  private Deflater Compressor;
+  private Inflater Decompressor;
+  private byte Buffer[];
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  public jcGameCodec()
+  {
+    Board = new jcBoard();
+    Generator = new jcMoveListGenerator();
+    Parsed = new jcMove();
+    Sorted = new int[ MAX_MOVES ];
+    Compressor = new Deflater( Deflater.BEST_COMPRESSION );
+    Decompressor = new Inflater();
+    Buffer = new byte[ 1024 ];
+  }
+
+  // public static jcGameCodec ForCurrentThread
+  // The calling thread's own codec
+  public static jcGameCodec ForCurrentThread()
+  {
+    return PerThread.get();
+  }
+
+  // public byte[] Encode
+  // The binary form of a transcript, compressed if "deflate" is set and it
+  // helps; null if the transcript is not a legal game
+  public byte[] Encode( List<String> transcript, boolean deflate )
+  {
+    byte encoded[] = new byte[ transcript.size() + 1 ];
+    encoded[ 0 ] = (byte) VERSION;
+    Board.StartingBoard();
+
+    for( int i = 0; i < transcript.size(); i++ )
+    {
+      String entry = transcript.get( i );
+      boolean last = ( i == transcript.size() - 1 );
+      if ( jcNotation.RESIGNATION.equals( entry ) && last )
+        encoded[ i + 1 ] = (byte) CODE_RESIGNATION;
+      else if ( jcNotation.DRAW.equals( entry ) && last )
+        encoded[ i + 1 ] = (byte) CODE_DRAW;
+      else
+      {
+        if ( !jcNotation.ParseWireMove( entry, Parsed ) )
+          return null;
+        int count = SortLegalMoves();
+        int index = Arrays.binarySearch( Sorted, 0, count, jcOpeningBook.PackMove( Parsed ) );
+        if ( index < 0 )
+          return null;
+        Play( index );
+        encoded[ i + 1 ] = (byte) index;
+      }
+    }
+
+    if ( !deflate )
+      return encoded;
+    byte compressed[] = Deflate( encoded );
+    return( ( compressed.length < encoded.length ) ? compressed : encoded );
+  }
+
+  // public boolean Decode
+  // Append the entries of an encoded game to "transcript", in the wire
+  // notation.  Returns false if the data is not a legal game, leaving the
+  // entries decoded up to the point where it stops making sense
+  public boolean Decode( byte encoded[], List<String> transcript )
+  {
+    if ( encoded.length == 0 )
+      return false;
+    int header = encoded[ 0 ] & 0xFF;
+    if ( ( header & ~FLAG_DEFLATED ) != VERSION )
+      return false;
+
+    byte codes[] = encoded;
+    int length = encoded.length;
+    if ( ( header & FLAG_DEFLATED ) != 0 )
+    {
+      length = Inflate( encoded );
+      if ( length < 0 )
+        return false;
+      codes = Buffer;
+    }
+
+    Board.StartingBoard();
+    for( int i = 1; i < length; i++ )
+    {
+      int code = codes[ i ] & 0xFF;
+      boolean last = ( i == length - 1 );
+      if ( ( code == CODE_RESIGNATION ) && last )
+        transcript.add( jcNotation.RESIGNATION );
+      else if ( ( code == CODE_DRAW ) && last )
+        transcript.add( jcNotation.DRAW );
+      else
+      {
+        if ( code >= SortLegalMoves() )
+          return false;
+        transcript.add( jcNotation.FormatWireMove( Play( code ) ) );
+      }
+    }
+    return true;
+  }
+
+  /************************************************************************
+   * PRIVATE METHODS
+   ***********************************************************************/
+
+  // private int SortLegalMoves
+  // Fill "Sorted" with the legal moves of the current position; returns
+  // how many there are
+  private int SortLegalMoves()
+  {
+    Generator.ComputeStrictlyLegalMoves( Board );
+    int count = Generator.Size();
+    for( int i = 0; i < count; i++ )
+      Sorted[ i ] = jcOpeningBook.PackMove( (jcMove) Generator.GetMoveList().get( i ) );
+    Arrays.sort( Sorted, 0, count );
+    return count;
+  }
+
+  // private jcMove Play
+  // Play the legal move of the given index, right after SortLegalMoves
+  private jcMove Play( int index )
+  {
+    jcMove mov = jcOpeningBook.FindMove( Generator, Sorted[ index ] );
+    Board.ApplyMove( mov );
+    return mov;
+  }
+
+  // The header byte is left uncompressed, with the flag set
+  private byte[] Deflate( byte encoded[] )
+  {
+    Compressor.reset();
+    Compressor.setInput( encoded, 1, encoded.length - 1 );
+    Compressor.finish();
+    byte out[] = new byte[ encoded.length + 64 ];
+    out[ 0 ] = (byte) ( VERSION | FLAG_DEFLATED );
+    int length = 1;
+    while( !Compressor.finished() )
+    {
+      if ( length == out.length )
+        out = Arrays.copyOf( out, out.length * 2 );
+      length += Compressor.deflate( out, length, out.length - length );
+    }
+    return Arrays.copyOf( out, length );
+  }
+
+  // Decompress into "Buffer", keeping the header in its first byte; returns
+  // the length, header included, or -1 if the data is corrupt
+  private int Inflate( byte encoded[] )
+  {
+    Decompressor.reset();
+    Decompressor.setInput( encoded, 1, encoded.length - 1 );
+    int length = 1;
+    try
+    {
+      while( !Decompressor.finished() )
+      {
+        if ( length == Buffer.length )
+          Buffer = Arrays.copyOf( Buffer, Buffer.length * 2 );
+        int inflated = Decompressor.inflate( Buffer, length, Buffer.length - length );
+        if ( ( inflated == 0 ) && ( Decompressor.needsInput() || Decompressor.needsDictionary() ) )
+          return -1;
+        length += inflated;
+      }
+    }
+    catch( DataFormatException e )
+    {
+      return -1;
+    }
+    Buffer[ 0 ] = (byte) VERSION;
+    return length;
+  }
+}
@@ -0,0 +1,240 @@
+/****************************************************************************
+ * jcGameValidator.java - Replays games, checking that every move is legal
+ *
+ * Purpose: The server rebuilds a game's position from its transcript for
+ * most requests.  Allocating players, move generators and boards for each
+ * of them is wasteful, so a validator keeps its board and its move
+ * generator from one game to the next.
+ *
+ * Moves are checked with jcMoveListGenerator.FindLegalMove, which only
+ * looks at the moving piece; whole transcripts can be checked at once with
+ * ValidateTranscript, for imports and audits of stored games.
+ *
+ * A validator is not thread-safe.  Each thread gets its own from
+ * ForCurrentThread; the board it returns belongs to the validator, and
+ * must be copied (jcBoard.Clone) by anyone who wants to keep it after the
+ * next Reset, or to hand it to another thread.
+ *
+ * History:
+ * 19.10.26 Creation
+ * 19.10.26 Moves are checked by FindLegalMove, jcPlayerHuman only being
+ *          asked why a move is rejected.  Added ValidateTranscript
+ * 19.10.26 Added FormatSAN and HasLegalMove, for PGN export
+ * 19.10.26 Added PlaySAN, for PGN imports, AppendSAN and PlayWritingSAN
+ * 19.10.26 Added PlayWire, for rebuilding the position index, and IsInCheck
+ * 19.10.26 Added Reset( jcBoard ), to check positions reached by a search
+ ***************************************************************************/
+package javachess;
+import java.util.List;
+import controllers.MoveException;
+
+public class jcGameValidator
+{
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  // One validator per thread, created on first use
+  private static final ThreadLocal<jcGameValidator> PerThread =
+    new ThreadLocal<jcGameValidator>()
+    {
+      protected jcGameValidator initialValue()
+      {
+        return new jcGameValidator();
+      }
+    };
+
+  // The position reached so far, and the number of moves which led to it
+  private jcBoard Board;
+  private int Ply;
+
+  // Checks the moves
+  private jcMoveListGenerator Generator;
+  private jcMove Parsed;
+
+  // Where FormatSAN tries the moves
+  private jcBoard Scratch;
+
+  // Tells why a move is illegal; the same object serves both sides
+  private jcPlayerHuman Referee;
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  // Construction
+  public jcGameValidator()
+  {
+    Board = new jcBoard();
+    Generator = new jcMoveListGenerator();
+    Parsed = new jcMove();
+    Scratch = new jcBoard();
+    Referee = new jcPlayerHuman( jcPlayer.SIDE_WHITE );
+    Ply = 0;
+  }
+
+  // public static jcGameValidator ForCurrentThread
+  // The calling thread's own validator, in whatever state its last game left
+  // it: callers should start with Reset
+  public static jcGameValidator ForCurrentThread()
+  {
+    return PerThread.get();
+  }
+
+  // public void Reset
+  // Back to the starting position of a new game; nothing of the previous
+  // game (castling rights, en passant square, repetition history, halfmove
+  // clock) survives
+  public void Reset()
+  {
+    Board.StartingBoard();
+    Ply = 0;
+  }
+
+  // public void Reset
+  // Start from a copy of "position" instead, e.g. one the bot has just
+  // moved to; the ply count starts from there
+  public void Reset( jcBoard position )
+  {
+    Board.Clone( position );
+    Ply = 0;
+  }
+
+  // public jcMove Play
+  // Check that "mov" (as decoded from the wire: squares and promotion type
+  // only) is legal in the current position, and play it; returns the
+  // complete move.  If the move is illegal, the exception is thrown before
+  // anything changes
+  public jcMove Play( jcMove mov ) throws MoveException
+  {
+    jcMove legal = Generator.FindLegalMove( Board, mov.SourceSquare, mov.DestinationSquare,
+                                            mov.MoveType & jcMove.PROMOTION_MASK );
+    if ( legal == null )
+    {
+      // Let the referee find the most precise explanation
+      Referee.GetMove( Board, mov, mov.MoveType );
+      throw new MoveException( MoveException.illegalMoveType );
+    }
+    Board.ApplyMove( legal );
+    Ply++;
+    return legal;
+  }
+
+  // public boolean ValidateTranscript
+  // Replay a whole transcript, as stored in the database, from the starting
+  // position, stopping at the first entry which is not a legal move.  The
+  // findings go to "result"; returns true if the whole transcript is legal.
+  // The validator is left in the last position reached, like "result"
+  public boolean ValidateTranscript( List<String> transcript, jcTranscriptCheck result )
+  {
+    Reset();
+    result.FirstIllegalPly = -1;
+    boolean over = false;
+    for( int i = 0; i < transcript.size(); i++ )
+    {
+      String entry = transcript.get( i );
+      if ( !over && ( jcNotation.RESIGNATION.equals( entry ) || jcNotation.DRAW.equals( entry ) ) )
+      {
+        over = true;
+        continue;
+      }
+
+      jcMove legal = null;
+      if ( !over && jcNotation.ParseWireMove( entry, Parsed ) )
+        legal = Generator.FindLegalMove( Board, Parsed.SourceSquare, Parsed.DestinationSquare,
+                                         Parsed.MoveType );
+      if ( legal == null )
+      {
+        result.FirstIllegalPly = i;
+        break;
+      }
+      Board.ApplyMove( legal );
+      Ply++;
+    }
+
+    result.Plies = Ply;
+    result.Board.Clone( Board );
+    result.PositionKey = Board.GetPositionKey();
+    return result.IsLegal();
+  }
+
+  // public jcMove PlayWire
+  // Play the transcript entry "entry", if it is a legal move in the current
+  // position; returns the move played, which is only valid until the next
+  // call, or null (and nothing changes).  Unlike Play, nobody is asked why
+  // a move is rejected
+  public jcMove PlayWire( String entry )
+  {
+    if ( !jcNotation.ParseWireMove( entry, Parsed ) )
+      return null;
+    jcMove legal = Generator.FindLegalMove( Board, Parsed.SourceSquare, Parsed.DestinationSquare,
+                                            Parsed.MoveType & jcMove.PROMOTION_MASK );
+    if ( legal == null )
+      return null;
+    Board.ApplyMove( legal );
+    Ply++;
+    return legal;
+  }
+
+  // public jcMove PlaySAN
+  // Play the move written "san" in standard algebraic notation, if it is
+  // legal and unambiguous in the current position; returns the move played,
+  // which is only valid until the next call, or null (and nothing changes)
+  public jcMove PlaySAN( String san )
+  {
+    jcMove legal = jcNotation.ParseSAN( Board, san, Generator );
+    if ( legal == null )
+      return null;
+    Board.ApplyMove( legal );
+    Ply++;
+    return legal;
+  }
+
+  // public String FormatSAN
+  // The move "mov" (squares and promotion type) in standard algebraic
+  // notation, in the current position, before it is played; null if it is
+  // not legal
+  public String FormatSAN( jcMove mov )
+  {
+    return jcNotation.FormatSAN( Board, mov, Generator, Scratch );
+  }
+
+  // public boolean AppendSAN
+  // Same thing, appended to "san"; returns false if the move is not legal
+  public boolean AppendSAN( jcMove mov, StringBuilder san )
+  {
+    return jcNotation.AppendSAN( Board, mov, Generator, Scratch, san );
+  }
+
+  // public boolean PlayWritingSAN
+  // Append the SAN of "mov" to "san", and play it, for exports: the move
+  // is only looked up once, and played on the validator's own board
+  // instead of a copy.  Returns false, changing nothing, if it is illegal
+  public boolean PlayWritingSAN( jcMove mov, StringBuilder san )
+  {
+    if ( !jcNotation.AppendSAN( Board, mov, Generator, Board, san ) )
+      return false;
+    Ply++;
+    return true;
+  }
+
+  // public boolean HasLegalMove
+  // False if the side to move is checkmated or stalemated
+  public boolean HasLegalMove()
+  {
+    Generator.ComputeStrictlyLegalMoves( Board );
+    return( Generator.Size() > 0 );
+  }
+
+  // public boolean IsInCheck
+  // Is the side to move in check?  With HasLegalMove, tells checkmate from
+  // stalemate
+  public boolean IsInCheck()
+  {
+    return Generator.IsInCheck( Board );
+  }
+
+  // Accessors
+  public jcBoard GetBoard() { return Board; }
+  public int GetPly() { return Ply; }
+}
@@ -0,0 +1,242 @@
+/****************************************************************************
+ * jcMoveOrdering.java - Move ordering heuristics for alphabeta search
+ *
+ * Purpose: Alphabeta cuts off fastest when the best move is searched first,
+ * so before looping on a jcMoveListGenerator's moves the search asks this
+ * object to sort them.  Four sources of knowledge are combined:
+ * 1. The "hash move" found in the transposition table, if any, goes first
+ * 2. Captures, sorted by MVV-LVA (most valuable victim, least valuable
+ *    attacker)
+ * 3. Two "killer moves" per ply, i.e., quiet moves which caused a cutoff
+ *    in a sibling node
+ * 4. All other quiet moves, sorted by the butterfly history table, which
+ *    remembers how often a [side][from][to] move has caused a cutoff
+ *
+ * The score given to each move is stored in its MoveEvaluation field, and
+ * the sort is done in place in the generator's buffer, so that ordering a
+ * list does not allocate any memory.
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+import java.util.ArrayList;
+
+public class jcMoveOrdering
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  // The deepest ply for which killer moves are remembered
+  public static final int MAX_PLY = 64;
+
+  // Score bands; each family of moves is sorted within its own band, and
+  // the bands never overlap
+  public static final int SCORE_HASH_MOVE = 1000000;
+  public static final int SCORE_CAPTURE = 500000;
+  public static final int SCORE_KILLER_ONE = 400000;
+  public static final int SCORE_KILLER_TWO = 390000;
+  public static final int SCORE_HISTORY_MAX = 300000;
+
+  // Relative ranks of the pieces, indexed by jcBoard piece code / 2, for the
+  // purpose of MVV-LVA ordering
+  private static final int PieceRanks[] = { 1, 2, 3, 4, 5, 6 };
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  // Two killer moves per ply, most recent first
+  private jcMove Killers[][];
+
+  // The butterfly history table: bonus accumulated by moves which caused
+  // cutoffs, indexed by [side][source square][destination square]
+  private int History[][][];
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  public jcMoveOrdering()
+  {
+    Killers = new jcMove[ MAX_PLY ][ 2 ];
+    for( int ply = 0; ply < MAX_PLY; ply++ )
+    {
+      Killers[ ply ][ 0 ] = new jcMove();
+      Killers[ ply ][ 1 ] = new jcMove();
+    }
+    History = new int[ 2 ][ jcBoard.ALL_SQUARES ][ jcBoard.ALL_SQUARES ];
+  }
+
+  // public void Reset
+  // Forget everything; call this when starting to work on a new game
+  public void Reset()
+  {
+    for( int ply = 0; ply < MAX_PLY; ply++ )
+    {
+      Killers[ ply ][ 0 ].Reset();
+      Killers[ ply ][ 1 ].Reset();
+    }
+    for( int side = 0; side < 2; side++ )
+      for( int from = 0; from < jcBoard.ALL_SQUARES; from++ )
+        for( int to = 0; to < jcBoard.ALL_SQUARES; to++ )
+          History[ side ][ from ][ to ] = 0;
+  }
+
+  // public void Age
+  // Called between two searches in the same game: killers are specific to
+  // a position, so they are cleared, but the history table is only halved
+  // because most of what it knows is still relevant
+  public void Age()
+  {
+    for( int ply = 0; ply < MAX_PLY; ply++ )
+    {
+      Killers[ ply ][ 0 ].Reset();
+      Killers[ ply ][ 1 ].Reset();
+    }
+    HalveHistory();
+  }
+
+  // public void RecordCutoff
+  // A move has caused a beta cutoff at the given ply and remaining depth.
+  // Captures are already well ordered by MVV-LVA, so only quiet moves are
+  // learned from.
+  public void RecordCutoff( jcMove mov, int ply, int depth )
+  {
+    if ( IsTactical( mov ) )
+      return;
+
+    if ( ply < MAX_PLY && !SameMove( mov, Killers[ ply ][ 0 ] ) )
+    {
+      Killers[ ply ][ 1 ].Copy( Killers[ ply ][ 0 ] );
+      Killers[ ply ][ 0 ].Copy( mov );
+    }
+
+    int side = mov.MovingPiece % 2;
+    int bonus = History[ side ][ mov.SourceSquare ][ mov.DestinationSquare ] + depth * depth;
+    History[ side ][ mov.SourceSquare ][ mov.DestinationSquare ] = bonus;
+
+    // Keep the history scores inside their band
+    if ( bonus >= SCORE_HISTORY_MAX )
+      HalveHistory();
+  }
+
+  // public jcMove GetKiller
+  // One of the two killer moves of a ply (0 = most recent); a killer slot
+  // which was never filled holds a move whose source and destination are
+  // the same square
+  public jcMove GetKiller( int ply, int which )
+  {
+    return Killers[ ply ][ which ];
+  }
+
+  // public int GetHistory
+  // Accessor, mostly for debugging purposes
+  public int GetHistory( int side, int source, int dest )
+  {
+    return History[ side ][ source ][ dest ];
+  }
+
+  // public boolean IsKiller
+  // Is this move one of the killers for the given ply?
+  public boolean IsKiller( jcMove mov, int ply )
+  {
+    if ( ply >= MAX_PLY )
+      return false;
+    return( SameMove( mov, Killers[ ply ][ 0 ] ) || SameMove( mov, Killers[ ply ][ 1 ] ) );
+  }
+
+  // public int ScoreMove
+  // Compute the ordering score of a single move; hashMove may be null
+  public int ScoreMove( jcMove mov, jcMove hashMove, int ply )
+  {
+    if ( ( hashMove != null ) && SameMove( mov, hashMove ) )
+      return SCORE_HASH_MOVE;
+
+    if ( IsTactical( mov ) )
+    {
+      int score = SCORE_CAPTURE;
+      if ( mov.CapturedPiece != jcBoard.EMPTY_SQUARE )
+        score += 10 * PieceRanks[ mov.CapturedPiece / 2 ] - PieceRanks[ mov.MovingPiece / 2 ];
+      if ( ( mov.MoveType & jcMove.MOVE_PROMOTION_QUEEN ) != 0 )
+        score += 10 * PieceRanks[ jcBoard.QUEEN / 2 ];
+      return score;
+    }
+
+    if ( ply < MAX_PLY )
+    {
+      if ( SameMove( mov, Killers[ ply ][ 0 ] ) )
+        return SCORE_KILLER_ONE;
+      if ( SameMove( mov, Killers[ ply ][ 1 ] ) )
+        return SCORE_KILLER_TWO;
+    }
+
+    return History[ mov.MovingPiece % 2 ][ mov.SourceSquare ][ mov.DestinationSquare ];
+  }
+
+  // public void OrderMoves
+  // Score every move in the generator's list and sort the list, best move
+  // first.  Move lists are short, so a simple insertion sort done directly
+  // in the generator's ArrayList is faster than anything fancier, and it
+  // doesn't allocate.
+  public void OrderMoves( jcMoveListGenerator gen, jcMove hashMove, int ply )
+  {
+    ArrayList list = gen.GetMoveList();
+    int size = list.size();
+    for( int i = 0; i < size; i++ )
+    {
+      jcMove mov = (jcMove) list.get( i );
+      mov.MoveEvaluation = ScoreMove( mov, hashMove, ply );
+    }
+    SortByEvaluation( list, 0, size );
+    gen.ResetIterator();
+  }
+
+  // public static void SortByEvaluation
+  // Insertion sort of list[ from, to ), by decreasing MoveEvaluation
+  public static void SortByEvaluation( ArrayList list, int from, int to )
+  {
+    for( int i = from + 1; i < to; i++ )
+    {
+      jcMove mov = (jcMove) list.get( i );
+      int j = i - 1;
+      while( ( j >= from ) && ( ( (jcMove) list.get( j ) ).MoveEvaluation < mov.MoveEvaluation ) )
+      {
+        list.set( j + 1, list.get( j ) );
+        j--;
+      }
+      list.set( j + 1, mov );
+    }
+  }
+
+  // public static boolean IsTactical
+  // Captures and promotions are searched before quiet moves
+  public static boolean IsTactical( jcMove mov )
+  {
+    return( ( mov.CapturedPiece != jcBoard.EMPTY_SQUARE ) ||
+            ( mov.MoveType >= jcMove.MOVE_PROMOTION_KNIGHT ) );
+  }
+
+  /************************************************************************
+   * PRIVATE METHODS
+   ***********************************************************************/
+
+  private void HalveHistory()
+  {
+    for( int side = 0; side < 2; side++ )
+      for( int from = 0; from < jcBoard.ALL_SQUARES; from++ )
+        for( int to = 0; to < jcBoard.ALL_SQUARES; to++ )
+          History[ side ][ from ][ to ] >>= 1;
+  }
+
+  // Killers and hash moves may come from a different position, so only the
+  // fields which identify a move are compared.  An empty killer slot has the
+  // same source and destination, and therefore never matches a real move
+  private static boolean SameMove( jcMove a, jcMove b )
+  {
+    return( ( a.SourceSquare == b.SourceSquare ) &&
+            ( a.DestinationSquare == b.DestinationSquare ) &&
+            ( a.MoveType == b.MoveType ) );
+  }
+}
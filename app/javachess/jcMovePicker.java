@@ -0,0 +1,205 @@
+/****************************************************************************
+ * jcMovePicker.java - Hands out the moves of a position in stages
+ *
+ * Purpose: Most alphabeta cutoffs happen on the first move or two, so it is
+ * wasteful to generate and sort every move of a position before searching
+ * any of them.  The picker works in stages, and only does the work of a
+ * stage when the previous ones have not produced a cutoff:
+ * 1. The hash move, checked by generating the moves of its piece only
+ * 2. Captures and promotions, by MVV-LVA; these are generated anyway to
+ *    find out whether the position is legal
+ * 3. The killer moves, checked like the hash move
+ * 4. All the other quiet moves, generated now, by history score
+ * No move is handed out twice.
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+import java.util.ArrayList;
+
+public class jcMovePicker
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  private static final int STAGE_HASH = 0;
+  private static final int STAGE_TACTICAL = 1;
+  private static final int STAGE_KILLERS = 2;
+  private static final int STAGE_QUIET = 3;
+  private static final int STAGE_DONE = 4;
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  private jcBoard Board;
+  private jcMoveOrdering Ordering;
+  private int Ply;
+  private int Stage;
+  private int Index;
+
+  // The tactical moves are computed by the caller; the others are ours
+  private jcMoveListGenerator Tactical;
+  private jcMoveListGenerator Quiet;
+  private jcMoveListGenerator Scratch;
+
+  // The moves handed out by the hash and killer stages, so that the other
+  // stages can skip them; a slot is unused when source == destination
+  private jcMove HashMove;
+  private jcMove KillersPlayed[];
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  public jcMovePicker()
+  {
+    Quiet = new jcMoveListGenerator();
+    Scratch = new jcMoveListGenerator();
+    HashMove = new jcMove();
+    KillersPlayed = new jcMove[ 2 ];
+    KillersPlayed[ 0 ] = new jcMove();
+    KillersPlayed[ 1 ] = new jcMove();
+  }
+
+  // public void Init
+  // Get ready to pick the moves of "theBoard", whose tactical moves have
+  // already been computed in "tactical" by ComputeTacticalMoves.  hashMove
+  // may be null
+  public void Init( jcBoard theBoard, jcMoveListGenerator tactical, jcMove hashMove,
+                    jcMoveOrdering ordering, int ply )
+  {
+    Board = theBoard;
+    Tactical = tactical;
+    Ordering = ordering;
+    Ply = ply;
+    Stage = STAGE_HASH;
+    Index = 0;
+    if ( hashMove != null )
+      HashMove.Copy( hashMove );
+    else
+      HashMove.Reset();
+    KillersPlayed[ 0 ].Reset();
+    KillersPlayed[ 1 ].Reset();
+  }
+
+  // public jcMove Next
+  // The next move to search, or null when there are no more.  Moves are
+  // pseudo-legal, like those of jcMoveListGenerator
+  public jcMove Next()
+  {
+    while( true )
+    {
+      switch( Stage )
+      {
+        case STAGE_HASH:
+        {
+          Stage = STAGE_TACTICAL;
+          if ( !IsSet( HashMove ) )
+            break;
+          jcMove found = FindMove( Tactical, HashMove );
+          if ( found == null )
+          {
+            Scratch.ComputeMovesFromSquare( Board, HashMove.SourceSquare );
+            found = FindMove( Scratch, HashMove );
+          }
+          if ( found != null )
+            return found;
+          HashMove.Reset();
+          break;
+        }
+
+        case STAGE_TACTICAL:
+        {
+          if ( Index == 0 )
+            Ordering.OrderMoves( Tactical, null, Ply );
+          ArrayList list = Tactical.GetMoveList();
+          while( Index < list.size() )
+          {
+            jcMove mov = (jcMove) list.get( Index++ );
+            if ( !SameMove( mov, HashMove ) )
+              return mov;
+          }
+          Stage = STAGE_KILLERS;
+          Index = 0;
+          break;
+        }
+
+        case STAGE_KILLERS:
+        {
+          while( ( Index < 2 ) && ( Ply < jcMoveOrdering.MAX_PLY ) )
+          {
+            jcMove killer = Ordering.GetKiller( Ply, Index );
+            Index++;
+            if ( !IsSet( killer ) || SameMove( killer, HashMove ) )
+              continue;
+            Scratch.ComputeMovesFromSquare( Board, killer.SourceSquare );
+            jcMove found = FindMove( Scratch, killer );
+            if ( ( found != null ) && !jcMoveOrdering.IsTactical( found ) )
+            {
+              KillersPlayed[ Index - 1 ].Copy( found );
+              return found;
+            }
+          }
+          Stage = STAGE_QUIET;
+          Index = 0;
+          break;
+        }
+
+        case STAGE_QUIET:
+        {
+          if ( Index == 0 )
+          {
+            Quiet.ComputeQuietMoves( Board );
+            Ordering.OrderMoves( Quiet, null, Ply );
+          }
+          ArrayList list = Quiet.GetMoveList();
+          while( Index < list.size() )
+          {
+            jcMove mov = (jcMove) list.get( Index++ );
+            if ( !SameMove( mov, HashMove ) && !SameMove( mov, KillersPlayed[ 0 ] ) &&
+                 !SameMove( mov, KillersPlayed[ 1 ] ) )
+              return mov;
+          }
+          Stage = STAGE_DONE;
+          break;
+        }
+
+        default:
+          return null;
+      }
+    }
+  }
+
+  /************************************************************************
+   * PRIVATE METHODS
+   ***********************************************************************/
+
+  private static boolean IsSet( jcMove mov )
+  {
+    return( mov.SourceSquare != mov.DestinationSquare );
+  }
+
+  private static boolean SameMove( jcMove a, jcMove b )
+  {
+    return( ( a.SourceSquare == b.SourceSquare ) &&
+            ( a.DestinationSquare == b.DestinationSquare ) &&
+            ( a.MoveType == b.MoveType ) );
+  }
+
+  // private static jcMove FindMove
+  // Look for a move with the same squares and type in a generator's list
+  private static jcMove FindMove( jcMoveListGenerator gen, jcMove target )
+  {
+    ArrayList list = gen.GetMoveList();
+    for( int i = 0; i < list.size(); i++ )
+    {
+      jcMove mov = (jcMove) list.get( i );
+      if ( SameMove( mov, target ) )
+        return mov;
+    }
+    return null;
+  }
+}
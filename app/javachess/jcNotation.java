@@ -0,0 +1,371 @@
+/****************************************************************************
+ * jcNotation.java - Conversions between moves and their text forms
+ *
+ * Purpose: The xChess clients send moves as "E2 E4 Q" strings: two squares
+ * and an optional promotion letter.  The letter of a square names its line,
+ * 'A' being White's first line and 'H' Black's, and the digit names its
+ * column, 1 being the Queen's Rook's; see xmodels.Move, which does the same
+ * conversion for the web layer.  Promotions are 'Q', 'R', 'B' and 'K' (for
+ * knight).
+ *
+ * Standard algebraic notation ("SAN", as in "Nbd7", "exd6", "e8=Q+") is
+ * what PGN files and chess players use; its squares are named by column
+ * letter and rank number, "a1" being White's Queen's Rook's square.
+ *
+ * History:
+ * 19.10.26 Creation
+ * 19.10.26 Added ParseWireMove, for bulk validation of transcripts
+ * 19.10.26 Added FormatSAN: standard algebraic notation, for PGN
+ * 19.10.26 Added ParseSAN, for PGN imports
+ * 19.10.26 SAN conversions only generate the moves to the destination
+ *          square, instead of every legal move.  Added AppendSAN
+ ***************************************************************************/
+package javachess;
+
+public class jcNotation
+{
+  // The token stored in transcripts when a player resigns
+  public static final String RESIGNATION = "RESIG";
+
+  // The token stored in transcripts when the game is drawn by repetition
+  // or by the fifty-move rule
+  public static final String DRAW = "DRAW";
+
+  // Piece letters in SAN, by jcBoard piece type / 2
+  private static final String SAN_PIECES = "PNBRQK";
+
+  // The squares of the first column, and of the first rank, as bitboards
+  private static final long COLUMN_A = 0x0101010101010101L;
+  private static final long RANK_1 = 0xFF00000000000000L;
+
+  // Promotion types, by their letter's place in "QRBN"
+  private static final int SAN_PROMOTIONS[] = { jcMove.MOVE_PROMOTION_QUEEN,
+    jcMove.MOVE_PROMOTION_ROOK, jcMove.MOVE_PROMOTION_BISHOP,
+    jcMove.MOVE_PROMOTION_KNIGHT };
+
+  // public static int ParseSquare
+  // Convert a wire-format square ("E2") to a jcBoard square index, or -1 if
+  // the string isn't a valid square
+  public static int ParseSquare( String str )
+  {
+    if ( ( str == null ) || ( str.length() != 2 ) )
+      return -1;
+    return ParseSquare( str, 0 );
+  }
+
+  // The square written at "index" in "str"
+  private static int ParseSquare( String str, int index )
+  {
+    int line = str.charAt( index ) - 'A';
+    int column = str.charAt( index + 1 ) - '1';
+    if ( ( line < 0 ) || ( line > 7 ) || ( column < 0 ) || ( column > 7 ) )
+      return -1;
+    return( ( 7 - line ) * 8 + column );
+  }
+
+  // public static String FormatSquare
+  // The reverse of ParseSquare
+  public static String FormatSquare( int square )
+  {
+    char buf[] = new char[ 2 ];
+    buf[ 0 ] = (char) ( 'A' + 7 - ( square / 8 ) );
+    buf[ 1 ] = (char) ( '1' + ( square % 8 ) );
+    return new String( buf );
+  }
+
+  // public static int ParsePromotion
+  // Convert a wire-format promotion letter to a jcMove promotion type, or
+  // 0 for no promotion
+  public static int ParsePromotion( String str )
+  {
+    if ( ( str == null ) || ( str.length() == 0 ) )
+      return 0;
+    switch( str.charAt( 0 ) )
+    {
+      case 'Q': return jcMove.MOVE_PROMOTION_QUEEN;
+      case 'R': return jcMove.MOVE_PROMOTION_ROOK;
+      case 'B': return jcMove.MOVE_PROMOTION_BISHOP;
+      case 'K': return jcMove.MOVE_PROMOTION_KNIGHT;
+      default: return 0;
+    }
+  }
+
+  // public static String FormatWireMove
+  // Convert a move to the "E2 E4 Q" format used by the clients
+  public static String FormatWireMove( jcMove mov )
+  {
+    if ( mov.MoveType == jcMove.MOVE_RESIGN )
+      return RESIGNATION;
+    String str = FormatSquare( mov.SourceSquare ) + " " + FormatSquare( mov.DestinationSquare );
+    switch( mov.MoveType & jcMove.PROMOTION_MASK )
+    {
+      case jcMove.MOVE_PROMOTION_QUEEN: return str + " Q";
+      case jcMove.MOVE_PROMOTION_ROOK: return str + " R";
+      case jcMove.MOVE_PROMOTION_BISHOP: return str + " B";
+      case jcMove.MOVE_PROMOTION_KNIGHT: return str + " K";
+      default: return str;
+    }
+  }
+
+  // public static boolean ParseWireMove
+  // Fill in the squares and promotion type (in MoveType) of "mov" from a
+  // wire-format string; returns false if the string is not a move.  Like
+  // xmodels.Move, takes an unknown promotion letter for no promotion.
+  // Reads the characters in place, as it is called for every ply of every
+  // game replayed
+  public static boolean ParseWireMove( String wire, jcMove mov )
+  {
+    if ( ( wire.length() < 5 ) || ( wire.charAt( 2 ) != ' ' ) )
+      return false;
+    mov.SourceSquare = ParseSquare( wire, 0 );
+    mov.DestinationSquare = ParseSquare( wire, 3 );
+    if ( ( mov.SourceSquare < 0 ) || ( mov.DestinationSquare < 0 ) )
+      return false;
+
+    // The clients send the separator even when there is no promotion
+    mov.MoveType = 0;
+    for( int i = 5; i < wire.length(); i++ )
+    {
+      if ( wire.charAt( i ) != ' ' )
+      {
+        mov.MoveType = ParsePromotion( wire.substring( i ) );
+        break;
+      }
+    }
+    return true;
+  }
+
+  // public static jcMove FindWireMove
+  // Look for the move described by a wire-format string in a list which has
+  // already been computed by the generator; returns null if it isn't there
+  public static jcMove FindWireMove( jcMoveListGenerator gen, String wire )
+  {
+    String parts[] = wire.trim().split( " +" );
+    if ( parts.length < 2 )
+      return null;
+    int source = ParseSquare( parts[ 0 ] );
+    int dest = ParseSquare( parts[ 1 ] );
+    if ( ( source < 0 ) || ( dest < 0 ) )
+      return null;
+    int promotion = ( parts.length > 2 ) ? ParsePromotion( parts[ 2 ] ) : 0;
+
+    for( int i = 0; i < gen.Size(); i++ )
+    {
+      jcMove mov = (jcMove) gen.GetMoveList().get( i );
+      if ( ( mov.SourceSquare != source ) || ( mov.DestinationSquare != dest ) )
+        continue;
+      if ( ( mov.MoveType & jcMove.PROMOTION_MASK ) == promotion )
+        return mov;
+    }
+    return null;
+  }
+
+  // public static String FormatSAN
+  // The standard algebraic notation, in position "theBoard", of the legal
+  // move from mov.SourceSquare to mov.DestinationSquare with the promotion
+  // type in mov.MoveType, or null if there is no such move.  "gen" computes
+  // the legal moves (its list is lost), and "scratch" receives the position
+  // after the move, which is looked at for check and mate
+  public static String FormatSAN( jcBoard theBoard, jcMove mov,
+                                  jcMoveListGenerator gen, jcBoard scratch )
+  {
+    StringBuilder san = new StringBuilder( 8 );
+    return( AppendSAN( theBoard, mov, gen, scratch, san ) ? san.toString() : null );
+  }
+
+  // public static boolean AppendSAN
+  // Same as FormatSAN, but the notation is appended to "san", for callers
+  // writing many moves; returns false, appending nothing, if the move isn't
+  // legal.  Only the moves ending on the same square are generated: those
+  // of the piece moved, then those of the other pieces of its kind, if any.
+  // "scratch" may be "theBoard" itself, if the move is to be played anyway
+  public static boolean AppendSAN( jcBoard theBoard, jcMove mov, jcMoveListGenerator gen,
+                                   jcBoard scratch, StringBuilder san )
+  {
+    int source = mov.SourceSquare;
+    int dest = mov.DestinationSquare;
+    if ( ( source < 0 ) || ( source > 63 ) || ( dest < 0 ) || ( dest > 63 ) )
+      return false;
+    int promotion = mov.MoveType & jcMove.PROMOTION_MASK;
+    gen.ComputeLegalMovesTo( theBoard, jcBoard.SquareBits[ source ], dest );
+    jcMove legal = null;
+    for( int i = 0; i < gen.Size(); i++ )
+    {
+      jcMove other = (jcMove) gen.GetMoveList().get( i );
+      if ( ( other.MoveType & jcMove.PROMOTION_MASK ) == promotion )
+        legal = other;
+    }
+    if ( legal == null )
+      return false;
+
+    int type = legal.MoveType & jcMove.NO_PROMOTION_MASK;
+    int kind = legal.MovingPiece - ( legal.MovingPiece % 2 );
+    boolean capture = ( type == jcMove.MOVE_CAPTURE_ORDINARY ) ||
+                      ( type == jcMove.MOVE_CAPTURE_EN_PASSANT );
+    if ( type == jcMove.MOVE_CASTLING_KINGSIDE )
+      san.append( "O-O" );
+    else if ( type == jcMove.MOVE_CASTLING_QUEENSIDE )
+      san.append( "O-O-O" );
+    else
+    {
+      if ( kind == jcBoard.PAWN )
+      {
+        // Pawn captures name the pawn's column, which is always enough
+        if ( capture )
+          san.append( (char) ( 'a' + source % 8 ) );
+      }
+      else
+      {
+        san.append( SAN_PIECES.charAt( kind / 2 ) );
+
+        // If another piece of the same kind can go to the same square, name
+        // the column of this one, or failing that its rank, or both
+        long others = theBoard.GetBitBoard( legal.MovingPiece ) & ~jcBoard.SquareBits[ source ];
+        boolean ambiguous = false, sameColumn = false, sameRank = false;
+        if ( others != 0 )
+        {
+          gen.ComputeLegalMovesTo( theBoard, others, dest );
+          for( int i = 0; i < gen.Size(); i++ )
+          {
+            jcMove other = (jcMove) gen.GetMoveList().get( i );
+            ambiguous = true;
+            sameColumn |= ( other.SourceSquare % 8 == source % 8 );
+            sameRank |= ( other.SourceSquare / 8 == source / 8 );
+          }
+        }
+        if ( ambiguous && ( !sameColumn || sameRank ) )
+          san.append( (char) ( 'a' + source % 8 ) );
+        if ( ambiguous && sameColumn )
+          san.append( (char) ( '8' - source / 8 ) );
+      }
+      if ( capture )
+        san.append( 'x' );
+      san.append( (char) ( 'a' + dest % 8 ) );
+      san.append( (char) ( '8' - dest / 8 ) );
+      if ( promotion != 0 )
+      {
+        san.append( '=' );
+        switch( promotion )
+        {
+          case jcMove.MOVE_PROMOTION_QUEEN: san.append( 'Q' ); break;
+          case jcMove.MOVE_PROMOTION_ROOK: san.append( 'R' ); break;
+          case jcMove.MOVE_PROMOTION_BISHOP: san.append( 'B' ); break;
+          default: san.append( 'N' ); break;
+        }
+      }
+    }
+
+    scratch.Clone( theBoard );
+    scratch.ApplyMove( legal );
+    if ( gen.IsInCheck( scratch ) )
+    {
+      gen.ComputeStrictlyLegalMoves( scratch );
+      san.append( ( gen.Size() == 0 ) ? '#' : '+' );
+    }
+    return true;
+  }
+
+  // public static jcMove ParseSAN
+  // The legal move, in position "theBoard", which "san" names in standard
+  // algebraic notation; null if it names none, or more than one.  Check and
+  // mate signs and annotations ("!", "?") are ignored, as is a missing or
+  // superfluous capture sign; castling may be written with zeroes, and
+  // promotions without the '='.  "gen" computes the legal moves: its list is
+  // lost, and the move returned belongs to it
+  public static jcMove ParseSAN( jcBoard theBoard, String san,
+                                 jcMoveListGenerator gen )
+  {
+    int end = san.length();
+    while( ( end > 0 ) && ( "+#!?".indexOf( san.charAt( end - 1 ) ) >= 0 ) )
+      end--;
+    if ( end < 2 )
+      return null;
+
+    int castling = 0;
+    int kind = jcBoard.PAWN;
+    int dest = -1, promotion = 0;
+    int fromColumn = -1, fromRank = -1;
+    if ( ( end == 5 ) && ( san.startsWith( "O-O-O" ) || san.startsWith( "0-0-0" ) ) )
+      castling = jcMove.MOVE_CASTLING_QUEENSIDE;
+    else if ( ( end == 3 ) && ( san.startsWith( "O-O" ) || san.startsWith( "0-0" ) ) )
+      castling = jcMove.MOVE_CASTLING_KINGSIDE;
+    if ( castling != 0 )
+      kind = jcBoard.KING;
+    else
+    {
+      // From the end: promotion, destination, capture sign, disambiguation
+      int piece = "QRBN".indexOf( san.charAt( end - 1 ) );
+      if ( piece >= 0 )
+      {
+        promotion = SAN_PROMOTIONS[ piece ];
+        end--;
+        if ( san.charAt( end - 1 ) == '=' )
+          end--;
+        if ( end < 2 )
+          return null;
+      }
+      int column = san.charAt( end - 2 ) - 'a';
+      int rank = san.charAt( end - 1 ) - '1';
+      if ( ( column < 0 ) || ( column > 7 ) || ( rank < 0 ) || ( rank > 7 ) )
+        return null;
+      dest = ( 7 - rank ) * 8 + column;
+      end -= 2;
+
+      int start = 0;
+      if ( ( end > 0 ) && ( "NBRQK".indexOf( san.charAt( 0 ) ) >= 0 ) )
+      {
+        kind = SAN_PIECES.indexOf( san.charAt( 0 ) ) * 2;
+        start = 1;
+      }
+      if ( ( end > start ) && ( san.charAt( end - 1 ) == 'x' ) )
+        end--;
+      for( int i = start; i < end; i++ )
+      {
+        char c = san.charAt( i );
+        if ( ( c >= 'a' ) && ( c <= 'h' ) )
+          fromColumn = c - 'a';
+        else if ( ( c >= '1' ) && ( c <= '8' ) )
+          fromRank = c - '1';
+        else
+          return null;
+      }
+    }
+
+    // Only the pieces which the notation allows are asked for their moves
+    // to the destination.  The phantom kings left by a castling are still
+    // in the king's bitboard, so the moving piece is checked again below
+    long sources;
+    if ( castling != 0 )
+    {
+      int home = ( theBoard.GetCurrentPlayer() == jcPlayer.SIDE_WHITE ) ? 60 : 4;
+      dest = ( castling == jcMove.MOVE_CASTLING_KINGSIDE ) ? ( home + 2 ) : ( home - 2 );
+      sources = jcBoard.SquareBits[ home ];
+    }
+    else
+    {
+      sources = theBoard.GetBitBoard( kind + theBoard.GetCurrentPlayer() );
+      if ( fromColumn >= 0 )
+        sources &= COLUMN_A << fromColumn;
+      if ( fromRank >= 0 )
+        sources &= RANK_1 >>> ( 8 * fromRank );
+    }
+
+    gen.ComputeLegalMovesTo( theBoard, sources, dest );
+    jcMove found = null;
+    for( int i = 0; i < gen.Size(); i++ )
+    {
+      jcMove mov = (jcMove) gen.GetMoveList().get( i );
+      int type = mov.MoveType & jcMove.NO_PROMOTION_MASK;
+      boolean castles = ( type == jcMove.MOVE_CASTLING_KINGSIDE ) ||
+                        ( type == jcMove.MOVE_CASTLING_QUEENSIDE );
+      if ( ( castles != ( castling != 0 ) ) ||
+           ( mov.MovingPiece - ( mov.MovingPiece % 2 ) != kind ) ||
+           ( ( mov.MoveType & jcMove.PROMOTION_MASK ) != promotion ) )
+        continue;
+      if ( found != null )
+        return null;
+      found = mov;
+    }
+    return found;
+  }
+}
@@ -0,0 +1,138 @@
+/****************************************************************************
+ * jcNotationBenchmark.java - Measures the cost of the move notations
+ *
+ * Purpose: Moves go through jcNotation whenever a game is replayed,
+ * exported or imported, so its conversions must stay cheap next to move
+ * generation itself.  This plays random games (the same ones for a given
+ * seed), then replays them with a jcGameValidator several times, three
+ * ways: from the wire notation, writing the SAN of every move before
+ * playing it (as a PGN export does), and from SAN (as a PGN import does).
+ * The best round of each is reported, in plies per second.
+ *
+ * Usage: java javachess.jcNotationBenchmark [games] [seed]
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class jcNotationBenchmark
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  private static final int DEFAULT_GAMES = 2000;
+  private static final int MAX_PLIES = 120;
+  private static final int ROUNDS = 5;
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  // The games, in both notations
+  private List<List<String>> Wire;
+  private List<List<String>> SAN;
+  private long Plies;
+
+  private jcGameValidator Validator;
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  public jcNotationBenchmark( int games, long seed )
+  {
+    Wire = new ArrayList<List<String>>();
+    SAN = new ArrayList<List<String>>();
+    Validator = new jcGameValidator();
+    Play( games, new Random( seed ) );
+  }
+
+  public static void main( String args[] ) throws Exception
+  {
+    int games = ( args.length > 0 ) ? Integer.parseInt( args[ 0 ] ) : DEFAULT_GAMES;
+    long seed = ( args.length > 1 ) ? Long.parseLong( args[ 1 ] ) : 1;
+    jcNotationBenchmark bench = new jcNotationBenchmark( games, seed );
+    System.out.println( games + " games, " + bench.Plies + " plies" );
+
+    long best[] = new long[ 3 ];
+    for( int round = 0; round < ROUNDS; round++ )
+    {
+      best[ 0 ] = Math.max( best[ 0 ], bench.PliesPerSecond( 0 ) );
+      best[ 1 ] = Math.max( best[ 1 ], bench.PliesPerSecond( 1 ) );
+      best[ 2 ] = Math.max( best[ 2 ], bench.PliesPerSecond( 2 ) );
+    }
+    System.out.println( "Wire replay:      " + best[ 0 ] + " plies/s" );
+    System.out.println( "Replay with SAN:  " + best[ 1 ] + " plies/s" );
+    System.out.println( "Replay from SAN:  " + best[ 2 ] + " plies/s" );
+  }
+
+  // public long PliesPerSecond
+  // Replay all the games once: from the wire notation ( how == 0 ), from the
+  // wire notation writing SAN ( how == 1 ), or from SAN ( how == 2 )
+  public long PliesPerSecond( int how ) throws Exception
+  {
+    jcMove mov = new jcMove();
+    StringBuilder text = new StringBuilder();
+    long start = System.nanoTime();
+    for( int game = 0; game < Wire.size(); game++ )
+    {
+      Validator.Reset();
+      List<String> moves = ( how == 2 ) ? SAN.get( game ) : Wire.get( game );
+      for( int i = 0; i < moves.size(); i++ )
+      {
+        if ( how == 2 )
+        {
+          if ( Validator.PlaySAN( moves.get( i ) ) == null )
+            throw new IllegalStateException( "Rejected " + moves.get( i ) );
+          continue;
+        }
+        jcNotation.ParseWireMove( moves.get( i ), mov );
+        if ( how == 0 )
+          Validator.Play( mov );
+        else
+        {
+          text.setLength( 0 );
+          Validator.PlayWritingSAN( mov, text );
+        }
+      }
+    }
+    long nanos = Math.max( 1, System.nanoTime() - start );
+    return( Plies * 1000000000L / nanos );
+  }
+
+  /************************************************************************
+   * PRIVATE METHODS
+   ***********************************************************************/
+
+  // Random games, each one stopping at mate, stalemate or MAX_PLIES
+  private void Play( int games, Random random )
+  {
+    jcMoveListGenerator gen = new jcMoveListGenerator();
+    jcBoard board = new jcBoard();
+    for( int game = 0; game < games; game++ )
+    {
+      List<String> wire = new ArrayList<String>();
+      List<String> san = new ArrayList<String>();
+      Validator.Reset();
+      for( int ply = 0; ply < MAX_PLIES; ply++ )
+      {
+        board.Clone( Validator.GetBoard() );
+        gen.ComputeStrictlyLegalMoves( board );
+        if ( gen.Size() == 0 )
+          break;
+        jcMove mov = (jcMove) gen.GetMoveList().get( random.nextInt( gen.Size() ) );
+        wire.add( jcNotation.FormatWireMove( mov ) );
+        san.add( Validator.FormatSAN( mov ) );
+        Validator.PlaySAN( san.get( san.size() - 1 ) );
+      }
+      Wire.add( wire );
+      SAN.add( san );
+      Plies += wire.size();
+    }
+  }
+}
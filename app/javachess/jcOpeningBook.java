@@ -0,0 +1,236 @@
+/****************************************************************************
+ * jcOpeningBook.java - A memory-mapped, read-only opening book
+ *
+ * Purpose: Searching the first moves of a game is a waste of time, since the
+ * same openings are played over and over again.  The book maps a position's
+ * jcBoard.GetPositionKey to a list of weighted moves, and is queried before
+ * any search is started.
+ *
+ * The book lives in a binary file built by jcOpeningBookBuilder, which is
+ * mapped into memory instead of being loaded on the heap:
+ *   int  MAGIC
+ *   int  VERSION
+ *   int  number of entries
+ *   entries, sorted by key (then by move), ENTRY_SIZE bytes each:
+ *     long  position key
+ *     short move ( source | destination << 6 | promotion << 12 )
+ *     short weight (unsigned)
+ * A position's moves are therefore contiguous, and are found by binary
+ * search.  Reading the mapped buffer with absolute gets only, the book can
+ * be shared by any number of threads.
+ *
+ * History:
+ * 19.10.26 Creation
+ * 19.10.26 Added UnpackMove, for the opening explorer
+ * 19.10.26 VERSION 2: position keys no longer depend on en passant squares
+ *          which no pawn can capture on
+ ***************************************************************************/
+package javachess;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+public class jcOpeningBook
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  public static final int MAGIC = 0x4A43424B;  // "JCBK"
+  public static final int VERSION = 2;
+  public static final int HEADER_SIZE = 12;
+  public static final int ENTRY_SIZE = 12;
+
+  // Promotion codes used in the packed move format
+  private static final int PromotionTypes[] = { 0,
+    jcMove.MOVE_PROMOTION_KNIGHT, jcMove.MOVE_PROMOTION_BISHOP,
+    jcMove.MOVE_PROMOTION_ROOK, jcMove.MOVE_PROMOTION_QUEEN };
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  private ByteBuffer Buffer;
+  private int NumEntries;
+  private Random Rnd;
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  // Constructor: map the book file into memory
+  public jcOpeningBook( String fileName ) throws IOException
+  {
+    RandomAccessFile file = new RandomAccessFile( fileName, "r" );
+    try
+    {
+      FileChannel channel = file.getChannel();
+      MappedByteBuffer buf = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() );
+      Init( buf );
+    }
+    finally
+    {
+      // The mapping stays valid after the file is closed
+      file.close();
+    }
+  }
+
+  // Constructor: use a book which is already in memory
+  public jcOpeningBook( ByteBuffer buf ) throws IOException
+  {
+    Init( buf );
+  }
+
+  public int Size() { return NumEntries; }
+
+  // public jcMove Query
+  // Pick one of the book moves for the board, at random but in proportion
+  // to the moves' weights; returns null if the position is out of book.
+  // The move returned comes from the generator's list, so it is complete.
+  public jcMove Query( jcBoard theBoard, jcMoveListGenerator gen )
+  {
+    long key = theBoard.GetPositionKey();
+    int first = FindFirst( key );
+    if ( first < 0 )
+      return null;
+
+    // Sum the weights of the position's moves, then roll the dice
+    int total = 0;
+    int last = first;
+    while( ( last < NumEntries ) && ( GetKey( last ) == key ) )
+    {
+      total += GetWeight( last );
+      last++;
+    }
+    if ( total == 0 )
+      return null;
+    int roll = Rnd.nextInt( total );
+    int entry = first;
+    while( roll >= GetWeight( entry ) )
+    {
+      roll -= GetWeight( entry );
+      entry++;
+    }
+
+    // Translate the packed move into one of the generator's moves.  A
+    // collision of 64-bit keys is unlikely, but a move which is not legal
+    // in the position would reveal it
+    if ( !gen.ComputeLegalMoves( theBoard ) )
+      return null;
+    return FindMove( gen, GetMove( entry ) );
+  }
+
+  // public int GetMoves
+  // Copy the packed moves and weights of a position into the arrays
+  // provided; returns the number of moves found
+  public int GetMoves( long key, int moves[], int weights[] )
+  {
+    int first = FindFirst( key );
+    if ( first < 0 )
+      return 0;
+    int count = 0;
+    for( int entry = first; ( entry < NumEntries ) && ( GetKey( entry ) == key ) &&
+                            ( count < moves.length ); entry++ )
+    {
+      moves[ count ] = GetMove( entry );
+      weights[ count ] = GetWeight( entry );
+      count++;
+    }
+    return count;
+  }
+
+  // public static int PackMove
+  // Compress a move into the 16 bits used in the book file
+  public static int PackMove( jcMove mov )
+  {
+    int promotion = 0;
+    switch( mov.MoveType & jcMove.PROMOTION_MASK )
+    {
+      case jcMove.MOVE_PROMOTION_KNIGHT: promotion = 1; break;
+      case jcMove.MOVE_PROMOTION_BISHOP: promotion = 2; break;
+      case jcMove.MOVE_PROMOTION_ROOK: promotion = 3; break;
+      case jcMove.MOVE_PROMOTION_QUEEN: promotion = 4; break;
+    }
+    return( mov.SourceSquare | ( mov.DestinationSquare << 6 ) | ( promotion << 12 ) );
+  }
+
+  // public static void UnpackMove
+  // Fill in the squares and promotion type of "mov" from a packed move, as
+  // jcNotation.ParseWireMove does
+  public static void UnpackMove( int packed, jcMove mov )
+  {
+    mov.SourceSquare = packed & 63;
+    mov.DestinationSquare = ( packed >> 6 ) & 63;
+    mov.MoveType = PromotionTypes[ ( packed >> 12 ) & 7 ];
+  }
+
+  // public static jcMove FindMove
+  // Look for the move matching a packed move in a generator's list
+  public static jcMove FindMove( jcMoveListGenerator gen, int packed )
+  {
+    int source = packed & 63;
+    int dest = ( packed >> 6 ) & 63;
+    int promotion = PromotionTypes[ ( packed >> 12 ) & 7 ];
+    for( int i = 0; i < gen.Size(); i++ )
+    {
+      jcMove mov = (jcMove) gen.GetMoveList().get( i );
+      if ( ( mov.SourceSquare == source ) && ( mov.DestinationSquare == dest ) &&
+           ( ( mov.MoveType & jcMove.PROMOTION_MASK ) == promotion ) )
+        return mov;
+    }
+    return null;
+  }
+
+  /************************************************************************
+   * PRIVATE METHODS
+   ***********************************************************************/
+
+  private void Init( ByteBuffer buf ) throws IOException
+  {
+    Buffer = buf;
+    if ( ( buf.capacity() < HEADER_SIZE ) || ( buf.getInt( 0 ) != MAGIC ) )
+      throw new IOException( "Not an opening book" );
+    if ( buf.getInt( 4 ) != VERSION )
+      throw new IOException( "Unsupported opening book version " + buf.getInt( 4 ) );
+    NumEntries = buf.getInt( 8 );
+    if ( buf.capacity() < HEADER_SIZE + (long) NumEntries * ENTRY_SIZE )
+      throw new IOException( "Truncated opening book" );
+    Rnd = new Random();
+  }
+
+  private long GetKey( int entry )
+  {
+    return Buffer.getLong( HEADER_SIZE + entry * ENTRY_SIZE );
+  }
+
+  private int GetMove( int entry )
+  {
+    return Buffer.getShort( HEADER_SIZE + entry * ENTRY_SIZE + 8 ) & 0xFFFF;
+  }
+
+  private int GetWeight( int entry )
+  {
+    return Buffer.getShort( HEADER_SIZE + entry * ENTRY_SIZE + 10 ) & 0xFFFF;
+  }
+
+  // private int FindFirst
+  // Binary search for the first entry with the given key, or -1
+  private int FindFirst( long key )
+  {
+    int low = 0;
+    int high = NumEntries;
+    while( low < high )
+    {
+      int mid = ( low + high ) >>> 1;
+      if ( GetKey( mid ) < key )
+        low = mid + 1;
+      else
+        high = mid;
+    }
+    if ( ( low < NumEntries ) && ( GetKey( low ) == key ) )
+      return low;
+    return -1;
+  }
+}
@@ -0,0 +1,330 @@
+/****************************************************************************
+ * jcOpeningBookBuilder.java - Command-line tool creating jcOpeningBook files
+ *
+ * Purpose: Replay a collection of games and record, for every position met
+ * in their first plies, which moves were played and how often.  The input
+ * is either a PGN file (its name ending in .pgn), or a transcript dump, one
+ * move per line, as produced by
+ *   COPY ( SELECT game, move FROM "transcripts" ORDER BY game, id ) TO ...
+ * i.e., a game id and a wire-format move separated by a tab; consecutive
+ * lines with the same game id make up a game.
+ *
+ * Usage: java javachess.jcOpeningBookBuilder inputFile bookFile [maxPly [minCount]]
+ *
+ * History:
+ * 19.10.26 Creation
+ * 19.10.26 Added ReadPGN, on top of jcGameValidator.PlaySAN
+ ***************************************************************************/
+package javachess;
+import java.io.*;
+import java.util.*;
+
+public class jcOpeningBookBuilder
+{
+  // Default depth of the book, in plies, and number of times a move must
+  // have been played to make it into the book
+  public static final int DEFAULT_MAX_PLY = 16;
+  public static final int DEFAULT_MIN_COUNT = 2;
+
+  // One move seen in one position
+  private static class Entry
+  {
+    long Key;
+    int Move;
+    Entry( long key, int move ) { Key = key; Move = move; }
+  }
+
+  private int MaxPly;
+  private int MinCount;
+  private ArrayList<Entry> Entries;
+  private int GamesRead;
+  private int GamesRejected;
+
+  // Scratch objects used for replaying games
+  private jcBoard Board;
+  private jcBoard Successor;
+  private jcMoveListGenerator Gen;
+  private jcMoveListGenerator Checker;
+  private jcGameValidator Validator;
+
+  // The game termination markers of PGN movetext
+  private static final String RESULTS[] = { "1-0", "0-1", "1/2-1/2", "*" };
+
+  public jcOpeningBookBuilder( int maxPly, int minCount )
+  {
+    MaxPly = maxPly;
+    MinCount = minCount;
+    Entries = new ArrayList<Entry>();
+    Board = new jcBoard();
+    Successor = new jcBoard();
+    Gen = new jcMoveListGenerator();
+    Checker = new jcMoveListGenerator();
+    Validator = new jcGameValidator();
+  }
+
+  public int GetGamesRead() { return GamesRead; }
+  public int GetGamesRejected() { return GamesRejected; }
+
+  // public boolean AddGame
+  // Replay a game given as a list of wire-format moves, recording its first
+  // MaxPly moves.  A game containing an illegal move is only recorded up to
+  // that move; returns false in that case
+  public boolean AddGame( List<String> moves )
+  {
+    GamesRead++;
+    Board.StartingBoard();
+    int ply = 0;
+    for( String wire : moves )
+    {
+      if ( ( ply >= MaxPly ) || wire.equals( jcNotation.RESIGNATION ) )
+        break;
+      if ( !Gen.ComputeLegalMoves( Board ) )
+        break;
+      jcMove mov = jcNotation.FindWireMove( Gen, wire );
+      if ( mov != null )
+      {
+        Successor.Clone( Board );
+        Successor.ApplyMove( mov );
+        if ( !Checker.ComputeLegalMoves( Successor ) )
+          mov = null;
+      }
+      if ( mov == null )
+      {
+        GamesRejected++;
+        return false;
+      }
+      Entries.add( new Entry( Board.GetPositionKey(), jcOpeningBook.PackMove( mov ) ) );
+      Board.ApplyMove( mov );
+      ply++;
+    }
+    return true;
+  }
+
+  // public void ReadTranscriptDump
+  // Read all the games of a transcript dump
+  public void ReadTranscriptDump( Reader input ) throws IOException
+  {
+    BufferedReader br = new BufferedReader( input );
+    ArrayList<String> moves = new ArrayList<String>();
+    String currentGame = null;
+    String line;
+    while( ( line = br.readLine() ) != null )
+    {
+      int tab = line.indexOf( '\t' );
+      if ( tab < 0 )
+        continue;
+      String game = line.substring( 0, tab );
+      if ( !game.equals( currentGame ) )
+      {
+        if ( currentGame != null )
+          AddGame( moves );
+        moves.clear();
+        currentGame = game;
+      }
+      moves.add( line.substring( tab + 1 ) );
+    }
+    if ( currentGame != null )
+      AddGame( moves );
+  }
+
+  // public void ReadPGN
+  // Read all the games of a PGN file.  Comments, variations and annotations
+  // are skipped, and so are games starting from a set-up position (with a
+  // FEN tag)
+  public void ReadPGN( Reader input ) throws IOException
+  {
+    BufferedReader br = new BufferedReader( input );
+    StringBuilder movetext = new StringBuilder();
+    boolean setUp = false;
+    String line;
+    while( ( line = br.readLine() ) != null )
+    {
+      line = line.trim();
+      if ( line.startsWith( "[" ) )
+      {
+        // A tag pair after some movetext starts the next game
+        if ( movetext.length() > 0 )
+        {
+          AddPGNGame( movetext, setUp );
+          movetext.setLength( 0 );
+          setUp = false;
+        }
+        if ( line.startsWith( "[FEN " ) )
+          setUp = true;
+      }
+      else if ( ( line.length() > 0 ) && !line.startsWith( "%" ) )
+      {
+        // Lines are kept apart: a ';' comment runs to the end of its line
+        movetext.append( line ).append( '\n' );
+      }
+    }
+    if ( movetext.length() > 0 )
+      AddPGNGame( movetext, setUp );
+  }
+
+  // public int Write
+  // Sort the entries, merge duplicates into weights, and write the book;
+  // returns the number of entries written
+  public int Write( OutputStream output ) throws IOException
+  {
+    Collections.sort( Entries, new Comparator<Entry>() {
+      public int compare( Entry a, Entry b )
+      {
+        if ( a.Key != b.Key )
+          return( a.Key < b.Key ? -1 : 1 );
+        return( a.Move - b.Move );
+      }
+    } );
+
+    // Merge identical (position, move) pairs, dropping the rare ones
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    DataOutputStream bodyOut = new DataOutputStream( body );
+    int written = 0;
+    int i = 0;
+    while( i < Entries.size() )
+    {
+      Entry first = Entries.get( i );
+      int count = 0;
+      while( ( i < Entries.size() ) && ( Entries.get( i ).Key == first.Key ) &&
+             ( Entries.get( i ).Move == first.Move ) )
+      {
+        count++;
+        i++;
+      }
+      if ( count < MinCount )
+        continue;
+      bodyOut.writeLong( first.Key );
+      bodyOut.writeShort( first.Move );
+      bodyOut.writeShort( Math.min( count, 0xFFFF ) );
+      written++;
+    }
+    bodyOut.flush();
+
+    DataOutputStream out = new DataOutputStream( new BufferedOutputStream( output ) );
+    out.writeInt( jcOpeningBook.MAGIC );
+    out.writeInt( jcOpeningBook.VERSION );
+    out.writeInt( written );
+    body.writeTo( out );
+    out.flush();
+    return written;
+  }
+
+  // private void AddPGNGame
+  // Replay the first MaxPly moves of a game's movetext and record them; a
+  // game with an illegal move is recorded up to that move, and rejected
+  private void AddPGNGame( StringBuilder movetext, boolean setUp )
+  {
+    if ( setUp )
+    {
+      GamesRead++;
+      GamesRejected++;
+      return;
+    }
+
+    Validator.Reset();
+    ArrayList<String> moves = new ArrayList<String>();
+    int variations = 0;
+    int i = 0;
+    while( ( i < movetext.length() ) && ( moves.size() < MaxPly ) )
+    {
+      char c = movetext.charAt( i );
+      if ( c == '{' )
+      {
+        int close = movetext.indexOf( "}", i );
+        i = ( close < 0 ) ? movetext.length() : close + 1;
+      }
+      else if ( c == ';' )
+      {
+        int close = movetext.indexOf( "\n", i );
+        i = ( close < 0 ) ? movetext.length() : close + 1;
+      }
+      else if ( c == '(' )
+      {
+        variations++;
+        i++;
+      }
+      else if ( c == ')' )
+      {
+        variations--;
+        i++;
+      }
+      else if ( Character.isWhitespace( c ) )
+      {
+        i++;
+      }
+      else
+      {
+        int end = i;
+        while( ( end < movetext.length() ) && !Character.isWhitespace( movetext.charAt( end ) ) &&
+               ( "{;()".indexOf( movetext.charAt( end ) ) < 0 ) )
+          end++;
+        String token = movetext.substring( i, end );
+        i = end;
+        if ( ( variations > 0 ) || token.startsWith( "$" ) || IsResult( token ) )
+          continue;
+
+        // Move numbers may be written against the move: "12.Nf3", "12...Nf6"
+        int san = 0;
+        while( ( san < token.length() ) && Character.isDigit( token.charAt( san ) ) )
+          san++;
+        if ( ( san < token.length() ) && ( token.charAt( san ) == '.' ) )
+        {
+          while( ( san < token.length() ) && ( token.charAt( san ) == '.' ) )
+            san++;
+        }
+        else
+          san = 0;
+        if ( san == token.length() )
+          continue;
+
+        jcMove mov = Validator.PlaySAN( token.substring( san ) );
+        if ( mov == null )
+        {
+          AddGame( moves );
+          GamesRejected++;
+          return;
+        }
+        moves.add( jcNotation.FormatWireMove( mov ) );
+      }
+    }
+    AddGame( moves );
+  }
+
+  private static boolean IsResult( String token )
+  {
+    for( int i = 0; i < RESULTS.length; i++ )
+    {
+      if ( RESULTS[ i ].equals( token ) )
+        return true;
+    }
+    return false;
+  }
+
+  public static void main( String args[] ) throws Exception
+  {
+    if ( args.length < 2 )
+    {
+      System.out.println( "Usage: jcOpeningBookBuilder inputFile bookFile [maxPly [minCount]]" );
+      System.out.println( "inputFile is a PGN file if its name ends in .pgn, a transcript dump otherwise" );
+      return;
+    }
+    int maxPly = ( args.length > 2 ) ? Integer.parseInt( args[ 2 ] ) : DEFAULT_MAX_PLY;
+    int minCount = ( args.length > 3 ) ? Integer.parseInt( args[ 3 ] ) : DEFAULT_MIN_COUNT;
+
+    jcOpeningBookBuilder builder = new jcOpeningBookBuilder( maxPly, minCount );
+    Reader in = new InputStreamReader( new FileInputStream( args[ 0 ] ), "UTF-8" );
+    if ( args[ 0 ].toLowerCase().endsWith( ".pgn" ) )
+      builder.ReadPGN( in );
+    else
+      builder.ReadTranscriptDump( in );
+    in.close();
+
+    FileOutputStream out = new FileOutputStream( args[ 1 ] );
+    int written = builder.Write( out );
+    out.close();
+
+    System.out.println( builder.GetGamesRead() + " games read, " +
+                        builder.GetGamesRejected() + " rejected, " +
+                        written + " book entries written" );
+  }
+}
@@ -0,0 +1,224 @@
+/****************************************************************************
+ * jcPawnHashTable.java - A cache for pawn structure evaluations
+ *
+ * Purpose: Doubled, isolated and passed pawns are expensive to detect, but
+ * the pawn structure changes very rarely from one node of the search tree to
+ * the next.  This table remembers the pawn structure score and the passed
+ * pawn bitboards computed for a given jcBoard pawn key, so that most
+ * evaluations only need a single probe.
+ *
+ * The table has a fixed size and is always-replace: a slot is simply
+ * overwritten by the newest pawn structure mapping to it.
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+
+public class jcPawnHashTable
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  // Default number of slots; must be a power of two
+  public static final int DEFAULT_SIZE = 16384;
+
+  // Pawn structure bonuses and penalties, in centipawns
+  public static final int DOUBLED_PAWN_PENALTY = 10;
+  public static final int ISOLATED_PAWN_PENALTY = 15;
+
+  // Bonus for a passed pawn, indexed by the number of steps it has taken
+  // from its original line
+  private static final int PassedPawnBonus[] = { 0, 5, 10, 20, 35, 60, 100, 0 };
+
+  // Masks used to evaluate pawns: all squares of a file, all squares of
+  // the files adjacent to a square's, and all squares in front of a pawn
+  // (on its own file and the adjacent ones) which an enemy pawn could use
+  // to stop it
+  public static long FileMasks[];
+  public static long AdjacentFilesMasks[];
+  public static long PassedPawnMasks[][];
+
+  static
+  {
+    FileMasks = new long[ 8 ];
+    for( int sq = 0; sq < jcBoard.ALL_SQUARES; sq++ )
+      FileMasks[ sq % 8 ] |= jcBoard.SquareBits[ sq ];
+
+    AdjacentFilesMasks = new long[ 8 ];
+    for( int file = 0; file < 8; file++ )
+    {
+      if ( file > 0 )
+        AdjacentFilesMasks[ file ] |= FileMasks[ file - 1 ];
+      if ( file < 7 )
+        AdjacentFilesMasks[ file ] |= FileMasks[ file + 1 ];
+    }
+
+    // White pawns move towards square 0, black pawns towards square 63
+    PassedPawnMasks = new long[ 2 ][ jcBoard.ALL_SQUARES ];
+    for( int sq = 0; sq < jcBoard.ALL_SQUARES; sq++ )
+    {
+      long span = FileMasks[ sq % 8 ] | AdjacentFilesMasks[ sq % 8 ];
+      for( int other = 0; other < jcBoard.ALL_SQUARES; other++ )
+      {
+        if ( ( span & jcBoard.SquareBits[ other ] ) == 0 )
+          continue;
+        if ( ( other / 8 ) < ( sq / 8 ) )
+          PassedPawnMasks[ jcPlayer.SIDE_WHITE ][ sq ] |= jcBoard.SquareBits[ other ];
+        else if ( ( other / 8 ) > ( sq / 8 ) )
+          PassedPawnMasks[ jcPlayer.SIDE_BLACK ][ sq ] |= jcBoard.SquareBits[ other ];
+      }
+    }
+  }
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  // The table itself, as parallel arrays of primitives to avoid allocating
+  // (and garbage-collecting) one object per entry
+  private long Keys[];
+  private int Scores[];
+  private long PassedPawns[][];
+  private boolean Valid[];
+  private int Mask;
+
+  // Statistics
+  private long Probes;
+  private long Hits;
+
+  // The passed pawns found by the latest call to Probe
+  private long LastPassedPawns[];
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  public jcPawnHashTable()
+  {
+    this( DEFAULT_SIZE );
+  }
+
+  public jcPawnHashTable( int size )
+  {
+    // Round the size up to a power of two
+    int actual = 1;
+    while( actual < size )
+      actual <<= 1;
+    Keys = new long[ actual ];
+    Scores = new int[ actual ];
+    PassedPawns = new long[ 2 ][ actual ];
+    Valid = new boolean[ actual ];
+    Mask = actual - 1;
+    LastPassedPawns = new long[ 2 ];
+  }
+
+  // public void Clear
+  // Empty the table and reset the statistics
+  public void Clear()
+  {
+    for( int i = 0; i <= Mask; i++ )
+      Valid[ i ] = false;
+    Probes = 0;
+    Hits = 0;
+  }
+
+  // public int Probe
+  // Return the pawn structure score of the board, from the point of view of
+  // the "side" player, computing and storing it if it isn't in the table
+  // yet.  The passed pawns can be retrieved with GetPassedPawns afterwards
+  public int Probe( jcBoard theBoard, int side )
+  {
+    long key = theBoard.GetPawnKey();
+    int slot = (int) key & Mask;
+    Probes++;
+
+    if ( !Valid[ slot ] || ( Keys[ slot ] != key ) )
+    {
+      // A miss; evaluate the structure from scratch
+      long whitePawns = theBoard.GetBitBoard( jcBoard.WHITE_PAWN );
+      long blackPawns = theBoard.GetBitBoard( jcBoard.BLACK_PAWN );
+      Scores[ slot ] = EvalSide( jcPlayer.SIDE_WHITE, whitePawns, blackPawns ) -
+                       EvalSide( jcPlayer.SIDE_BLACK, blackPawns, whitePawns );
+      PassedPawns[ jcPlayer.SIDE_WHITE ][ slot ] = FindPassedPawns( jcPlayer.SIDE_WHITE, whitePawns, blackPawns );
+      PassedPawns[ jcPlayer.SIDE_BLACK ][ slot ] = FindPassedPawns( jcPlayer.SIDE_BLACK, blackPawns, whitePawns );
+      Keys[ slot ] = key;
+      Valid[ slot ] = true;
+    }
+    else
+    {
+      Hits++;
+    }
+
+    LastPassedPawns[ jcPlayer.SIDE_WHITE ] = PassedPawns[ jcPlayer.SIDE_WHITE ][ slot ];
+    LastPassedPawns[ jcPlayer.SIDE_BLACK ] = PassedPawns[ jcPlayer.SIDE_BLACK ][ slot ];
+
+    if ( side == jcPlayer.SIDE_WHITE )
+      return Scores[ slot ];
+    else
+      return -Scores[ slot ];
+  }
+
+  // public long GetPassedPawns
+  // The passed pawns of one side, as found by the latest Probe
+  public long GetPassedPawns( int side )
+  {
+    return LastPassedPawns[ side ];
+  }
+
+  // Accessors for the statistics
+  public long GetProbes() { return Probes; }
+  public long GetHits() { return Hits; }
+
+  /************************************************************************
+   * PRIVATE METHODS
+   ***********************************************************************/
+
+  // private static int EvalSide
+  // Score the pawn structure of one side; positive is good for that side
+  private static int EvalSide( int side, long ownPawns, long enemyPawns )
+  {
+    int score = 0;
+
+    // Doubled and isolated pawns are found file by file
+    for( int file = 0; file < 8; file++ )
+    {
+      int onFile = Long.bitCount( ownPawns & FileMasks[ file ] );
+      if ( onFile == 0 )
+        continue;
+      if ( onFile > 1 )
+        score -= DOUBLED_PAWN_PENALTY * ( onFile - 1 );
+      if ( ( ownPawns & AdjacentFilesMasks[ file ] ) == 0 )
+        score -= ISOLATED_PAWN_PENALTY * onFile;
+    }
+
+    // Passed pawns are rewarded according to how far they have gone
+    long passed = FindPassedPawns( side, ownPawns, enemyPawns );
+    while( passed != 0 )
+    {
+      int sq = Long.numberOfTrailingZeros( passed );
+      passed &= passed - 1;
+      int steps = ( side == jcPlayer.SIDE_WHITE ) ? ( 6 - sq / 8 ) : ( sq / 8 - 1 );
+      score += PassedPawnBonus[ steps ];
+    }
+    return score;
+  }
+
+  // private static long FindPassedPawns
+  // A pawn is passed if no enemy pawn stands in front of it, on its own file
+  // or on an adjacent one
+  private static long FindPassedPawns( int side, long ownPawns, long enemyPawns )
+  {
+    long passed = 0;
+    long pawns = ownPawns;
+    while( pawns != 0 )
+    {
+      int sq = Long.numberOfTrailingZeros( pawns );
+      pawns &= pawns - 1;
+      if ( ( PassedPawnMasks[ side ][ sq ] & enemyPawns ) == 0 )
+        passed |= jcBoard.SquareBits[ sq ];
+    }
+    return passed;
+  }
+}
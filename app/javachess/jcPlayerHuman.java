@@ -11,6 +11,10 @@
  *
  * History:
  * 11.06.00 Creation
+ * 19.10.26 Validation with a single, strictly legal move generation
+ * 19.10.26 En passant captures are recognized by comparing square indexes;
+ *          the old bitboard comparison used an int shift, which overflowed
+ *          for Black's captures
  **************************************************************************/
 package javachess;
 import javachess.jcMove;
@@ -24,7 +28,6 @@ public class jcPlayerHuman extends jcPlayer
 
   // Validation help
   jcMoveListGenerator Pseudos;
-  jcBoard Successor;
 
   // Constructor
   public jcPlayerHuman( int which )
@@ -32,7 +35,6 @@ public class jcPlayerHuman extends jcPlayer
     this.SetSide( which );
     
     Pseudos = new jcMoveListGenerator();
-    Successor = new jcBoard();
   }
 
   // public jcMove GetMove( theBoard )
@@ -81,7 +83,7 @@ public class jcPlayerHuman extends jcPlayer
         Mov.CapturedPiece = theBoard.FindBlackPiece( Mov.DestinationSquare );
         if ( Mov.CapturedPiece != jcBoard.EMPTY_SQUARE )
           Mov.MoveType = jcMove.MOVE_CAPTURE_ORDINARY;
-        else if ( ( theBoard.GetEnPassantPawn() == ( 1 << Mov.DestinationSquare ) ) &&
+        else if ( ( theBoard.GetEnPassantSquare() == Mov.DestinationSquare ) &&
                   ( Mov.MovingPiece == jcBoard.WHITE_PAWN ) )
         {
           Mov.CapturedPiece = jcBoard.BLACK_PAWN;
@@ -113,7 +115,7 @@ public class jcPlayerHuman extends jcPlayer
         Mov.CapturedPiece = theBoard.FindWhitePiece( Mov.DestinationSquare );
         if ( Mov.CapturedPiece != jcBoard.EMPTY_SQUARE )
           Mov.MoveType = jcMove.MOVE_CAPTURE_ORDINARY;
-        else if ( ( theBoard.GetEnPassantPawn() == ( 1 << Mov.DestinationSquare ) ) &&
+        else if ( ( theBoard.GetEnPassantSquare() == Mov.DestinationSquare ) &&
                   ( Mov.MovingPiece == jcBoard.BLACK_PAWN ) )
         {
           Mov.CapturedPiece = jcBoard.WHITE_PAWN;
@@ -135,25 +137,20 @@ public class jcPlayerHuman extends jcPlayer
       
       Mov.MoveType += car;
 
-      // OK, now let's see if the move is actually legal!  First step: a check
-      // for pseudo-legality, i.e., is it a valid successor to the current
-      // board?
-      Pseudos.ComputeLegalMoves( theBoard );
+      // OK, now let's see if the move is actually legal!  The strictly legal
+      // list already leaves out the moves which expose the king
+      Pseudos.ComputeStrictlyLegalMoves( theBoard );
       if ( !Pseudos.Find( Mov ) )
       {
+        // Rejected: tell an impossible move from one which leaves the king in
+        // check, which only costs another generation in this case
+        Pseudos.ComputeLegalMoves( theBoard );
+        if ( Pseudos.Find( Mov ) )
+          throw new MoveException(MoveException.inCheck);
     	  Mov.Print();
        throw new MoveException(MoveException.illegalMoveType);
       }
 
-      // If pseudo-legal, then verify whether it leaves the king in check
-      Successor.Clone( theBoard );
-      Successor.ApplyMove( Mov );
-      if ( !Pseudos.ComputeLegalMoves( Successor ) )
-      {
-        throw new MoveException(MoveException.inCheck);
-       
-      }
-
       
       ok = true;
 
@@ -0,0 +1,531 @@
+/****************************************************************************
+ * jcSearchAgent.java - Iterative deepening alphabeta search
+ *
+ * Purpose: Find the best move in a position, within the limits set by a
+ * jcSearchControl.  The search deepens one ply at a time; every iteration
+ * is a principal variation alphabeta search followed by a captures-only
+ * quiescence search, helped by a jcTranspositionTable, jcMoveOrdering,
+ * the pawn structure cache and the endgame bitbases.
+ *
+ * The limits are checked every CHECK_INTERVAL nodes.  When one of them is
+ * reached, the iteration in progress is abandoned and the best move of the
+ * last COMPLETED iteration is returned, so a search can be stopped at any
+ * time and still give a sound answer.
+ *
+ * All the boards and move lists used by the search are allocated once, in
+ * the constructor.  An agent may be reused for many searches (its tables
+ * then keep what they learned) but must only be used by one thread at a
+ * time.
+ *
+ * For multi-line analysis, some root moves may be excluded from the
+ * search: searching again without the best move gives the second best
+ * line, and so on.
+ *
+ * History:
+ * 19.10.26 Creation
+ * 19.10.26 Resuming a search no longer ages the move ordering; NewSearch
+ *          does, once per position
+ * 19.10.26 Won and lost bitbase positions are searched while there is
+ *          depth left, so that mates are found
+ ***************************************************************************/
+package javachess;
+import java.util.ArrayList;
+
+public class jcSearchAgent
+{
+  /************************************************************************
+   * CONSTANTS
+   ***********************************************************************/
+
+  // The deepest the search may ever go, quiescence included
+  public static final int MAX_PLY = jcMoveOrdering.MAX_PLY;
+
+  // The deepest iteration which may be requested
+  public static final int MAX_DEPTH = MAX_PLY / 2;
+
+  // Scores; a mate in n plies is worth MATE - n
+  public static final int INFINITY = 1000000;
+  public static final int MATE = 100000;
+  public static final int MATE_THRESHOLD = MATE - MAX_PLY;
+
+  // A position which the bitbases say is won is worth this much, plus the
+  // usual evaluation so that the search still tries to make progress
+  public static final int KNOWN_WIN = 20000;
+
+  // How often (in nodes) the limits are checked; must be a power of two
+  public static final int CHECK_INTERVAL = 1024;
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  // One board, move list, move picker and best move per ply; the move
+  // lists only hold the tactical moves, the pickers generate the others
+  private jcBoard Boards[];
+  private jcMoveListGenerator Generators[];
+  private jcMovePicker Pickers[];
+  private jcMove BestMoves[];
+
+  // Scratch objects for check detection and transposition table probes
+  private jcBoard CheckBoard;
+  private jcMove HashMove;
+
+  private jcTranspositionTable TranspositionTable;
+  private jcPawnHashTable PawnTable;
+  private jcMoveOrdering Ordering;
+
+  // Root moves which the search must ignore
+  private ArrayList<jcMove> ExcludedRootMoves;
+
+  // State of the search in progress
+  private jcSearchControl Control;
+  private long Nodes;
+  private boolean Stopped;
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  public jcSearchAgent()
+  {
+    this( new jcTranspositionTable() );
+  }
+
+  public jcSearchAgent( jcTranspositionTable table )
+  {
+    Boards = new jcBoard[ MAX_PLY + 1 ];
+    Generators = new jcMoveListGenerator[ MAX_PLY + 1 ];
+    Pickers = new jcMovePicker[ MAX_PLY + 1 ];
+    BestMoves = new jcMove[ MAX_PLY + 1 ];
+    for( int ply = 0; ply <= MAX_PLY; ply++ )
+    {
+      Boards[ ply ] = new jcBoard();
+      Generators[ ply ] = new jcMoveListGenerator();
+      Pickers[ ply ] = new jcMovePicker();
+      BestMoves[ ply ] = new jcMove();
+    }
+    CheckBoard = new jcBoard();
+    HashMove = new jcMove();
+    TranspositionTable = table;
+    PawnTable = new jcPawnHashTable();
+    Ordering = new jcMoveOrdering();
+    ExcludedRootMoves = new ArrayList<jcMove>();
+  }
+
+  // public void ExcludeRootMove
+  // Ignore this move at the root of the following searches
+  public void ExcludeRootMove( jcMove mov )
+  {
+    jcMove copy = new jcMove();
+    copy.Copy( mov );
+    ExcludedRootMoves.add( copy );
+  }
+
+  // public void ClearExcludedRootMoves
+  // Search all the root moves again
+  public void ClearExcludedRootMoves()
+  {
+    ExcludedRootMoves.clear();
+  }
+
+  // public void Clear
+  // Forget everything learned in previous searches; call this when starting
+  // to work on an unrelated game
+  public void Clear()
+  {
+    TranspositionTable.Clear();
+    PawnTable.Clear();
+    Ordering.Reset();
+  }
+
+  // public jcSearchResult Search
+  // Look for the best move in "theBoard", iterating up to "maxDepth" plies
+  // or until "control" says to stop.  The board itself is not modified.
+  public jcSearchResult Search( jcBoard theBoard, int maxDepth, jcSearchControl control )
+  {
+    NewSearch();
+    return Search( theBoard, 1, maxDepth, control );
+  }
+
+  // public void NewSearch
+  // Age the move ordering before searching a new position.  The killers
+  // and history learned by an interrupted iteration are what makes resuming
+  // it cheap, so a resumed search must not call this
+  public void NewSearch()
+  {
+    Ordering.Age();
+  }
+
+  // public jcSearchResult Search
+  // Same thing, but skip the iterations before "startDepth"; used to resume
+  // a search whose shallower iterations were completed by an earlier call
+  // on the same agent (their results are still in the transposition table,
+  // and the move ordering is kept as it was).  Call NewSearch first when the
+  // position is a new one.  If no iteration is completed, the result's
+  // Depth is 0.
+  public jcSearchResult Search( jcBoard theBoard, int startDepth, int maxDepth, jcSearchControl control )
+  {
+    jcSearchResult result = new jcSearchResult();
+    Control = control;
+    Nodes = 0;
+    Stopped = false;
+
+    jcBoard root = Boards[ 0 ];
+    root.Clone( theBoard );
+    if ( !Generators[ 0 ].ComputeLegalMoves( root ) )
+      return result;
+
+    // Before searching anything, make sure that there is a move to return;
+    // if there is none, the game is over (or every move has been excluded)
+    jcMove fallback = FirstLegalMove( 0 );
+    if ( fallback == null )
+    {
+      if ( ExcludedRootMoves.isEmpty() && IsInCheck( root ) )
+        result.Score = -MATE;
+      return result;
+    }
+    result.BestMove = new jcMove();
+    result.BestMove.Copy( fallback );
+    Generators[ 0 ].ComputeTacticalMoves( root );
+
+    maxDepth = Math.max( 1, Math.min( maxDepth, MAX_DEPTH ) );
+    for( int depth = Math.max( 1, startDepth ); depth <= maxDepth; depth++ )
+    {
+      int score = AlphaBeta( 0, depth, -INFINITY, INFINITY );
+      if ( Stopped )
+        break;
+      result.BestMove.Copy( BestMoves[ 0 ] );
+      result.Score = score;
+      result.Depth = depth;
+
+      // No point looking deeper once a forced mate has been found
+      if ( Math.abs( score ) > MATE_THRESHOLD )
+        break;
+    }
+
+    result.Nodes = Nodes;
+    result.Stopped = Stopped;
+    ExtractPrincipalVariation( theBoard, result );
+    Control = null;
+    return result;
+  }
+
+  /************************************************************************
+   * PRIVATE METHODS
+   ***********************************************************************/
+
+  // private int AlphaBeta
+  // Principal variation search of Boards[ ply ], whose tactical moves have
+  // already been computed in Generators[ ply ].  Returns the score from the
+  // point of view of the side to move; the best move is left in
+  // BestMoves[ ply ]
+  private int AlphaBeta( int ply, int depth, int alpha, int beta )
+  {
+    if ( CountNode() )
+      return 0;
+
+    jcBoard board = Boards[ ply ];
+    jcMoveListGenerator gen = Generators[ ply ];
+
+    if ( ply > 0 )
+    {
+      // A position seen before, in the game or in the current line, is
+      // scored as a draw: if it was good, the side which can avoid the
+      // repetition will, so there is no need to wait for the third time
+      if ( board.IsRepetition() || board.IsFiftyMoveDraw() )
+        return 0;
+
+      int known = ProbeBitbases( board, depth );
+      if ( known != INFINITY )
+        return known;
+    }
+
+    // Perhaps this position has already been searched deeply enough
+    long key = board.GetPositionKey();
+    jcMove hashMove = null;
+    if ( TranspositionTable.Probe( key, HashMove ) )
+    {
+      if ( ( ply > 0 ) && ( HashMove.SearchDepth >= depth ) )
+      {
+        int stored = ScoreFromTable( HashMove.MoveEvaluation, ply );
+        if ( ( HashMove.MoveEvaluationType == jcMove.EVALTYPE_ACCURATE ) ||
+             ( ( HashMove.MoveEvaluationType == jcMove.EVALTYPE_LOWERBOUND ) && ( stored >= beta ) ) ||
+             ( ( HashMove.MoveEvaluationType == jcMove.EVALTYPE_UPPERBOUND ) && ( stored <= alpha ) ) )
+          return stored;
+      }
+      if ( HashMove.SourceSquare != HashMove.DestinationSquare )
+        hashMove = HashMove;
+    }
+
+    if ( depth <= 0 )
+      return Quiesce( ply, alpha, beta );
+
+    jcMovePicker picker = Pickers[ ply ];
+    picker.Init( board, gen, hashMove, Ordering, ply );
+
+    int originalAlpha = alpha;
+    int bestScore = -INFINITY;
+    int legalMoves = 0;
+    jcBoard next = Boards[ ply + 1 ];
+    jcMove mov;
+    while( ( mov = picker.Next() ) != null )
+    {
+      if ( ( ply == 0 ) && IsExcluded( mov ) )
+        continue;
+      next.Clone( board );
+      next.ApplyMove( mov );
+      if ( !Generators[ ply + 1 ].ComputeTacticalMoves( next ) )
+        continue;
+      legalMoves++;
+
+      // The first move gets a full window; the others are expected to fail
+      // low and are re-searched only if they don't
+      int score;
+      if ( legalMoves == 1 )
+        score = -AlphaBeta( ply + 1, depth - 1, -beta, -alpha );
+      else
+      {
+        score = -AlphaBeta( ply + 1, depth - 1, -alpha - 1, -alpha );
+        if ( ( score > alpha ) && ( score < beta ) && !Stopped )
+        {
+          next.Clone( board );
+          next.ApplyMove( mov );
+          Generators[ ply + 1 ].ComputeTacticalMoves( next );
+          score = -AlphaBeta( ply + 1, depth - 1, -beta, -alpha );
+        }
+      }
+      if ( Stopped )
+        return 0;
+
+      if ( score > bestScore )
+      {
+        bestScore = score;
+        BestMoves[ ply ].Copy( mov );
+        if ( score > alpha )
+        {
+          alpha = score;
+          if ( score >= beta )
+          {
+            Ordering.RecordCutoff( mov, ply, depth );
+            break;
+          }
+        }
+      }
+    }
+
+    // No legal move: mate or stalemate
+    if ( legalMoves == 0 )
+      return( IsInCheck( board ) ? -MATE + ply : 0 );
+
+    int type;
+    if ( bestScore >= beta )
+      type = jcMove.EVALTYPE_LOWERBOUND;
+    else if ( bestScore > originalAlpha )
+      type = jcMove.EVALTYPE_ACCURATE;
+    else
+      type = jcMove.EVALTYPE_UPPERBOUND;
+
+    // A root searched without some of its moves must not be remembered
+    if ( ( ply > 0 ) || ExcludedRootMoves.isEmpty() )
+      TranspositionTable.Store( key, BestMoves[ ply ], ScoreToTable( bestScore, ply ), type, depth );
+    return bestScore;
+  }
+
+  // private int Quiesce
+  // Look at captures only, until the position is quiet, so that the static
+  // evaluation is never applied in the middle of an exchange
+  private int Quiesce( int ply, int alpha, int beta )
+  {
+    jcBoard board = Boards[ ply ];
+    int standPat = Evaluate( board );
+    if ( ( standPat >= beta ) || ( ply >= MAX_PLY - 1 ) )
+      return standPat;
+    if ( standPat > alpha )
+      alpha = standPat;
+
+    // The captures and promotions are already in Generators[ ply ]
+    jcMoveListGenerator gen = Generators[ ply ];
+    Ordering.OrderMoves( gen, null, ply );
+
+    jcBoard next = Boards[ ply + 1 ];
+    jcMove mov;
+    while( ( mov = gen.Next() ) != null )
+    {
+      next.Clone( board );
+      next.ApplyMove( mov );
+      if ( !Generators[ ply + 1 ].ComputeTacticalMoves( next ) )
+        continue;
+      if ( CountNode() )
+        return 0;
+      int score = -Quiesce( ply + 1, -beta, -alpha );
+      if ( Stopped )
+        return 0;
+      if ( score > alpha )
+      {
+        if ( score >= beta )
+          return score;
+        alpha = score;
+      }
+    }
+    return alpha;
+  }
+
+  // private boolean CountNode
+  // Count one more node and, every CHECK_INTERVAL nodes, ask the control
+  // object whether it is time to stop.  Returns true if it is
+  private boolean CountNode()
+  {
+    Nodes++;
+    if ( ( ( Nodes & ( CHECK_INTERVAL - 1 ) ) == 0 ) && ( Control != null ) &&
+         Control.MustStop( Nodes ) )
+      Stopped = true;
+    return Stopped;
+  }
+
+  // private int Evaluate
+  // Static evaluation from the point of view of the side to move
+  private int Evaluate( jcBoard board )
+  {
+    int side = board.GetCurrentPlayer();
+    return board.Evaluate( side ) + PawnTable.Probe( board, side );
+  }
+
+  // private int ProbeBitbases
+  // The value of a position covered by the endgame bitbases, or INFINITY
+  // if it isn't covered.  Draws are settled at once; won and lost positions
+  // are only valued from the bitbases at the horizon, so that a mate within
+  // reach of the search is still found and scored as a mate
+  private int ProbeBitbases( jcBoard board, int depth )
+  {
+    switch( jcBitbase.Probe( board ) )
+    {
+      case jcBitbase.RESULT_WIN:
+        return( ( depth <= 0 ) ? KNOWN_WIN + Evaluate( board ) : INFINITY );
+      case jcBitbase.RESULT_LOSS:
+        return( ( depth <= 0 ) ? -KNOWN_WIN + Evaluate( board ) : INFINITY );
+      case jcBitbase.RESULT_DRAW:
+        return 0;
+      default:
+        return INFINITY;
+    }
+  }
+
+  // private boolean IsInCheck
+  // Could the opponent capture the king of the side to move, if it were
+  // his turn?
+  private boolean IsInCheck( jcBoard board )
+  {
+    CheckBoard.Clone( board );
+    CheckBoard.SwitchSides();
+    return !Generators[ MAX_PLY ].ComputeTacticalMoves( CheckBoard );
+  }
+
+  // private jcMove FirstLegalMove
+  // The first move in Generators[ ply ] which doesn't leave the king in
+  // check, or null if there is none
+  private jcMove FirstLegalMove( int ply )
+  {
+    jcMoveListGenerator gen = Generators[ ply ];
+    jcBoard next = Boards[ ply + 1 ];
+    gen.ResetIterator();
+    jcMove mov;
+    while( ( mov = gen.Next() ) != null )
+    {
+      if ( ( ply == 0 ) && IsExcluded( mov ) )
+        continue;
+      next.Clone( Boards[ ply ] );
+      next.ApplyMove( mov );
+      if ( Generators[ ply + 1 ].ComputeTacticalMoves( next ) )
+        break;
+    }
+    gen.ResetIterator();
+    return mov;
+  }
+
+  // private boolean IsExcluded
+  // Is this root move to be ignored?
+  private boolean IsExcluded( jcMove mov )
+  {
+    for( int i = 0; i < ExcludedRootMoves.size(); i++ )
+    {
+      jcMove excluded = ExcludedRootMoves.get( i );
+      if ( ( excluded.SourceSquare == mov.SourceSquare ) &&
+           ( excluded.DestinationSquare == mov.DestinationSquare ) &&
+           ( excluded.MoveType == mov.MoveType ) )
+        return true;
+    }
+    return false;
+  }
+
+  // Mate scores are stored in the transposition table relative to the
+  // position being stored, not to the root of the search
+  private static int ScoreToTable( int score, int ply )
+  {
+    if ( score > MATE_THRESHOLD )
+      return score + ply;
+    if ( score < -MATE_THRESHOLD )
+      return score - ply;
+    return score;
+  }
+
+  private static int ScoreFromTable( int score, int ply )
+  {
+    if ( score > MATE_THRESHOLD )
+      return score - ply;
+    if ( score < -MATE_THRESHOLD )
+      return score + ply;
+    return score;
+  }
+
+  // private void ExtractPrincipalVariation
+  // Follow the hash moves from the root, as long as they are legal and do
+  // not repeat a position
+  private void ExtractPrincipalVariation( jcBoard theBoard, jcSearchResult result )
+  {
+    ArrayList<jcMove> pv = result.PrincipalVariation;
+    if ( result.BestMove == null )
+      return;
+    pv.add( result.BestMove );
+
+    jcBoard board = Boards[ 0 ];
+    board.Clone( theBoard );
+    board.ApplyMove( result.BestMove );
+    long seen[] = new long[ MAX_PLY ];
+    while( pv.size() < Math.max( 1, result.Depth ) )
+    {
+      long key = board.GetPositionKey();
+      for( int i = 0; i < pv.size() - 1; i++ )
+        if ( seen[ i ] == key )
+          return;
+      seen[ pv.size() - 1 ] = key;
+
+      if ( !TranspositionTable.Probe( key, HashMove ) )
+        return;
+      jcMoveListGenerator gen = Generators[ 0 ];
+      if ( !gen.ComputeLegalMoves( board ) )
+        return;
+      jcMove found = null;
+      jcMove mov;
+      while( ( mov = gen.Next() ) != null )
+      {
+        if ( ( mov.SourceSquare == HashMove.SourceSquare ) &&
+             ( mov.DestinationSquare == HashMove.DestinationSquare ) &&
+             ( mov.MoveType == HashMove.MoveType ) )
+        {
+          found = mov;
+          break;
+        }
+      }
+      if ( found == null )
+        return;
+      Boards[ 1 ].Clone( board );
+      Boards[ 1 ].ApplyMove( found );
+      if ( !Generators[ 1 ].ComputeTacticalMoves( Boards[ 1 ] ) )
+        return;
+      jcMove copy = new jcMove();
+      copy.Copy( found );
+      pv.add( copy );
+      board.Clone( Boards[ 1 ] );
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/****************************************************************************
+ * jcSearchControl.java - Limits and cancellation handle for a search
+ *
+ * Purpose: A search started on behalf of a web request must give an answer
+ * in time, however complex the position.  This object carries a hard
+ * deadline and a node budget, which jcSearchAgent checks every few
+ * thousand nodes, and a cancellation flag which any other thread may raise
+ * (when the client disconnects, or when the server shuts down) to make the
+ * search return at once with the best move of its last completed iteration.
+ *
+ * A control may have a parent: the engine scheduler runs a long search as
+ * a series of short time slices, each with its own control, which must
+ * also stop when the search as a whole is cancelled or out of time.
+ *
+ * History:
+ * 19.10.26 Creation
+ * 19.10.26 Parent controls, for time slices
+ ***************************************************************************/
+package javachess;
+
+public class jcSearchControl
+{
+  // Sentinel for "no limit"
+  public static final long UNLIMITED = 0;
+
+  private volatile boolean Cancelled;
+  private volatile long DeadlineNanos;
+  private volatile long NodeBudget;
+  private jcSearchControl Parent;
+
+  // Constructor: timeLimitMillis and nodeBudget may be UNLIMITED
+  public jcSearchControl( long timeLimitMillis, long nodeBudget )
+  {
+    this( timeLimitMillis, nodeBudget, null );
+  }
+
+  // Constructor for a control which also obeys the cancellation flag and
+  // deadline of "parent"; the parent's node budget is not checked
+  public jcSearchControl( long timeLimitMillis, long nodeBudget, jcSearchControl parent )
+  {
+    SetTimeLimit( timeLimitMillis );
+    NodeBudget = nodeBudget;
+    Parent = parent;
+  }
+
+  // public void SetTimeLimit
+  // Move the deadline to "timeLimitMillis" from now; may be called from any
+  // thread while the search runs, e.g. to give a pondering search a real
+  // deadline once the opponent has moved
+  public void SetTimeLimit( long timeLimitMillis )
+  {
+    if ( timeLimitMillis == UNLIMITED )
+      DeadlineNanos = UNLIMITED;
+    else
+      DeadlineNanos = System.nanoTime() + timeLimitMillis * 1000000L;
+  }
+
+  public void SetNodeBudget( long nodeBudget ) { NodeBudget = nodeBudget; }
+  public long GetNodeBudget() { return NodeBudget; }
+
+  // public void Cancel
+  // Ask the search to stop as soon as possible; safe to call from any thread
+  public void Cancel()
+  {
+    Cancelled = true;
+  }
+
+  public boolean IsCancelled()
+  {
+    return( Cancelled || ( ( Parent != null ) && Parent.IsCancelled() ) );
+  }
+
+  // public boolean IsOutOfTime
+  // Has the deadline, or the parent's, passed?
+  public boolean IsOutOfTime()
+  {
+    if ( ( DeadlineNanos != UNLIMITED ) && ( System.nanoTime() - DeadlineNanos >= 0 ) )
+      return true;
+    return( ( Parent != null ) && Parent.IsOutOfTime() );
+  }
+
+  // public boolean MustStop
+  // Has any of the limits been reached after "nodes" nodes?
+  public boolean MustStop( long nodes )
+  {
+    if ( IsCancelled() )
+      return true;
+    if ( ( NodeBudget != UNLIMITED ) && ( nodes >= NodeBudget ) )
+      return true;
+    return IsOutOfTime();
+  }
+}
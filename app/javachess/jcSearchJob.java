@@ -0,0 +1,150 @@
+/****************************************************************************
+ * jcSearchJob.java - A search which runs as a series of time slices
+ *
+ * Purpose: The engine scheduler shares a handful of threads between many
+ * games.  Rather than running one search to the end while the others wait,
+ * it gives each job a short quantum at a time, in turn.  Between slices, a
+ * job remembers the deepest iteration completed so far; the next slice
+ * resumes at the following depth, and whatever was learned by an
+ * interrupted iteration is still in the agent's transposition table.
+ *
+ * The job as a whole is limited by its own jcSearchControl (deadline, node
+ * budget, cancellation), which the caller keeps; GetResult may be called
+ * at any time and returns the best answer found so far.
+ *
+ * History:
+ * 19.10.26 Creation
+ * 19.10.26 The move ordering is aged once per job, not once per slice
+ ***************************************************************************/
+package javachess;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class jcSearchJob
+{
+  // Notified, on a scheduler thread, when a job is over
+  public interface Listener
+  {
+    public void SearchCompleted( jcSearchJob job );
+  }
+
+  /************************************************************************
+   * DATA MEMBERS
+   ***********************************************************************/
+
+  private jcSearchAgent Agent;
+  private jcBoard Board;
+  private int MaxDepth;
+  private jcSearchControl Control;
+  private Listener TheListener;
+
+  // Progress, and the best result of a completed iteration so far
+  private int NextDepth;
+  private long NodesUsed;
+  private volatile jcSearchResult Result;
+  private CountDownLatch Done;
+
+  // Time accounting, for the scheduler's metrics
+  long EnqueuedAt;
+  int Slices;
+
+  /************************************************************************
+   * PUBLIC METHODS
+   ***********************************************************************/
+
+  // Constructor: search "theBoard" (which is copied) with "agent", up to
+  // "maxDepth" plies or until "control" says to stop.  The agent must not
+  // be used by anything else until the job is over
+  public jcSearchJob( jcSearchAgent agent, jcBoard theBoard, int maxDepth,
+                      jcSearchControl control, Listener listener )
+  {
+    Agent = agent;
+    Board = new jcBoard();
+    Board.Clone( theBoard );
+    MaxDepth = maxDepth;
+    Control = control;
+    TheListener = listener;
+    NextDepth = 1;
+    Done = new CountDownLatch( 1 );
+  }
+
+  public jcSearchAgent GetAgent() { return Agent; }
+  public jcBoard GetBoard() { return Board; }
+  public jcSearchControl GetControl() { return Control; }
+  public int GetSlices() { return Slices; }
+  public boolean IsDone() { return( Done.getCount() == 0 ); }
+
+  // public jcSearchResult GetResult
+  // The best result so far; null until the first slice has run
+  public jcSearchResult GetResult() { return Result; }
+
+  // public void Cancel
+  // Stop the job at the end of its current slice, or before its next one
+  public void Cancel()
+  {
+    Control.Cancel();
+  }
+
+  // public jcSearchResult Await
+  // Wait until the job is over, or for at most "timeoutMillis"; returns the
+  // best result available at that time
+  public jcSearchResult Await( long timeoutMillis ) throws InterruptedException
+  {
+    Done.await( timeoutMillis, TimeUnit.MILLISECONDS );
+    return Result;
+  }
+
+  /************************************************************************
+   * PACKAGE METHODS, for jcEngineScheduler
+   ***********************************************************************/
+
+  // boolean RunSlice
+  // Search for at most "quantumMillis"; returns true if the job is over
+  boolean RunSlice( long quantumMillis )
+  {
+    Slices++;
+    if ( Control.MustStop( NodesUsed ) )
+      return Finish();
+
+    // The following slices resume this search, and keep its move ordering
+    if ( Slices == 1 )
+      Agent.NewSearch();
+
+    long budget = Control.GetNodeBudget();
+    if ( budget != jcSearchControl.UNLIMITED )
+      budget = Math.max( 1, budget - NodesUsed );
+    jcSearchControl slice = new jcSearchControl( quantumMillis, budget, Control );
+
+    jcSearchResult result = Agent.Search( Board, NextDepth, MaxDepth, slice );
+    NodesUsed += result.Nodes;
+    if ( ( result.Depth > 0 ) || ( Result == null ) )
+    {
+      result.Nodes = NodesUsed;
+      Result = result;
+      NextDepth = result.Depth + 1;
+    }
+    else
+    {
+      Result.Nodes = NodesUsed;
+    }
+
+    // The agent stops by itself when it has reached the maximum depth, found
+    // a mate, or when there is no legal move at all
+    if ( !result.Stopped || ( NextDepth > MaxDepth ) || Control.MustStop( NodesUsed ) )
+      return Finish();
+    return false;
+  }
+
+  // boolean Finish
+  // Mark the job as over and tell the listener
+  boolean Finish()
+  {
+    if ( Result == null )
+      Result = new jcSearchResult();
+    Result.Stopped = Control.MustStop( NodesUsed );
+    Done.countDown();
+    if ( TheListener != null )
+      TheListener.SearchCompleted( this );
+    return true;
+  }
+}
@@ -0,0 +1,40 @@
+/****************************************************************************
+ * jcSearchResult.java - What a jcSearchAgent found
+ *
+ * Purpose: The outcome of a search: the best move, its evaluation from the
+ * point of view of the side to move, the depth of the last iteration which
+ * was completed, and the principal variation.
+ * Like jcMove, this class is intended as a C++ structure.
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+import java.util.ArrayList;
+
+public class jcSearchResult
+{
+  // The best move, or null if the side to move has no legal move at all
+  public jcMove BestMove;
+
+  // Its evaluation, in centipawns; mates are reported as scores beyond
+  // jcSearchAgent.MATE_THRESHOLD
+  public int Score;
+
+  // The depth of the last completed iteration (0 if none was)
+  public int Depth;
+
+  // The number of nodes visited
+  public long Nodes;
+
+  // True if the search was stopped by its jcSearchControl
+  public boolean Stopped;
+
+  // The expected continuation, starting with BestMove
+  public ArrayList<jcMove> PrincipalVariation;
+
+  public jcSearchResult()
+  {
+    PrincipalVariation = new ArrayList<jcMove>();
+  }
+}
@@ -0,0 +1,36 @@
+/****************************************************************************
+ * jcTranscriptCheck.java - What jcGameValidator found in a transcript
+ *
+ * Purpose: The outcome of jcGameValidator.ValidateTranscript: where the
+ * transcript stops making sense, if it does, and the position reached by
+ * the moves before that point.  The caller supplies the object, so that it
+ * can be reused from one transcript to the next when auditing many games.
+ * Like jcMove, this class is intended as a C++ structure.
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+
+public class jcTranscriptCheck
+{
+  // The index, in the transcript, of the first entry which is not a legal
+  // move, or -1 if they all are.  Anything after a resignation or a draw
+  // counts as illegal
+  public int FirstIllegalPly;
+
+  // The number of moves played, up to the first illegal one
+  public int Plies;
+
+  // The position after those moves, and its jcBoard.GetPositionKey
+  public jcBoard Board;
+  public long PositionKey;
+
+  public jcTranscriptCheck()
+  {
+    Board = new jcBoard();
+    FirstIllegalPly = -1;
+  }
+
+  public boolean IsLegal() { return( FirstIllegalPly < 0 ); }
+}
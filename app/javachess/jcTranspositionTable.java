@@ -0,0 +1,104 @@
+/****************************************************************************
+ * jcTranspositionTable.java - Remembers the results of earlier searches
+ *
+ * Purpose: The same position is reached by many different move orders, and
+ * iterative deepening searches the same positions over and over again.  The
+ * transposition table stores, for a position's 64-bit key, the best move
+ * found, its evaluation, the kind of evaluation (accurate, upper or lower
+ * bound) and the depth of the search which produced it.
+ *
+ * Entries are kept in parallel arrays of primitives, so that the table costs
+ * no garbage collection at all; replacement favours the deeper search.
+ *
+ * History:
+ * 19.10.26 Creation
+ ***************************************************************************/
+package javachess;
+
+public class jcTranspositionTable
+{
+  // Default number of entries; must be a power of two
+  public static final int DEFAULT_SIZE = 1 << 18;
+
+  private long Keys[];
+  private int Scores[];
+  private int Moves[];
+  private byte Depths[];
+  private byte Types[];
+  private boolean Valid[];
+  private int Mask;
+
+  public jcTranspositionTable()
+  {
+    this( DEFAULT_SIZE );
+  }
+
+  public jcTranspositionTable( int size )
+  {
+    int actual = 1;
+    while( actual < size )
+      actual <<= 1;
+    Keys = new long[ actual ];
+    Scores = new int[ actual ];
+    Moves = new int[ actual ];
+    Depths = new byte[ actual ];
+    Types = new byte[ actual ];
+    Valid = new boolean[ actual ];
+    Mask = actual - 1;
+  }
+
+  // public void Clear
+  // Forget everything
+  public void Clear()
+  {
+    for( int i = 0; i <= Mask; i++ )
+      Valid[ i ] = false;
+  }
+
+  // public boolean Probe
+  // Look for a position in the table; if it is there, copy the stored move
+  // (source, destination and type only), evaluation, evaluation type and
+  // search depth into "mov" and return true
+  public boolean Probe( long key, jcMove mov )
+  {
+    int slot = (int) key & Mask;
+    if ( !Valid[ slot ] || ( Keys[ slot ] != key ) )
+      return false;
+    UnpackMove( Moves[ slot ], mov );
+    mov.MoveEvaluation = Scores[ slot ];
+    mov.MoveEvaluationType = Types[ slot ];
+    mov.SearchDepth = Depths[ slot ];
+    return true;
+  }
+
+  // public void Store
+  // Record the result of a search; mov may be null if no move was found.
+  // An entry for a different position is only replaced by a search at
+  // least as deep, unless it is stale
+  public void Store( long key, jcMove mov, int score, int type, int depth )
+  {
+    int slot = (int) key & Mask;
+    if ( Valid[ slot ] && ( Keys[ slot ] != key ) && ( Depths[ slot ] > depth ) )
+      return;
+    Keys[ slot ] = key;
+    Moves[ slot ] = ( mov == null ) ? 0 : PackMove( mov );
+    Scores[ slot ] = score;
+    Types[ slot ] = (byte) type;
+    Depths[ slot ] = (byte) Math.min( depth, Byte.MAX_VALUE );
+    Valid[ slot ] = true;
+  }
+
+  // A move is stored as source | destination << 6 | move type << 12; that
+  // is enough to recognize it in a move list
+  private static int PackMove( jcMove mov )
+  {
+    return( mov.SourceSquare | ( mov.DestinationSquare << 6 ) | ( mov.MoveType << 12 ) );
+  }
+
+  private static void UnpackMove( int packed, jcMove mov )
+  {
+    mov.SourceSquare = packed & 63;
+    mov.DestinationSquare = ( packed >> 6 ) & 63;
+    mov.MoveType = packed >>> 12;
+  }
+}
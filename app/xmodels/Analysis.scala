@@ -0,0 +1,48 @@
+package xmodels
+import javachess.jcNotation
+import javachess.jcSearchAgent
+import javachess.jcSearchResult
+import scala.collection.JavaConversions._
+
+/**
+ * One line of an analysis: moves in the client's format, score in centipawns for the side to move,
+ * and mate, the number of moves to mate (negative if the side to move is being mated; 0 if none found).
+ */
+case class AnalysisLine(moves : List[String], score : Int, mate : Int, depth : Int, nodes : Long) {
+
+}
+
+/**
+ * The analysis of a position, identified by its hash; depth is the depth reached by every line.
+ */
+case class Analysis(hash : String, depth : Int, lines : List[AnalysisLine]) {
+
+}
+
+object Analysis {
+
+  def fromResults(hash : Long, results : List[jcSearchResult]) : Analysis = {
+
+    val lines = results.map(r =>
+      AnalysisLine(r.PrincipalVariation.toList.map(m => jcNotation.FormatWireMove(m)), r.Score, mateIn(r.Score), r.Depth, r.Nodes)
+    )
+
+    val depth = if(lines.isEmpty) 0 else lines.map(_.depth).min
+
+    return Analysis(java.lang.Long.toHexString(hash), depth, lines)
+
+  }
+
+  def mateIn(score : Int) : Int = {
+
+    if(score > jcSearchAgent.MATE_THRESHOLD){
+      return (jcSearchAgent.MATE - score + 1) / 2
+    } else if(score < -jcSearchAgent.MATE_THRESHOLD){
+      return -((jcSearchAgent.MATE + score + 1) / 2)
+    }
+
+    return 0
+
+  }
+
+}
@@ -0,0 +1,17 @@
+package xmodels
+
+import javachess.jcGameCodec
+import scala.collection.JavaConversions.seqAsJavaList
+
+/**
+ * A game played elsewhere, as read from a PGN file: the players' names and the result are kept as
+ * written there, and the moves are in the wire notation, like a transcript. positions are the keys
+ * of the positions the moves led to, for the position index, and encoded the moves in the form they
+ * are stored in, if already known.
+ */
+case class ArchiveGame(white : String, black : String, event : String, date : String, result : String, moves : List[String],
+                       positions : List[Long] = Nil, encoded : Array[Byte] = null) {
+
+  def encodedMoves : Array[Byte] = if(encoded != null) encoded else jcGameCodec.ForCurrentThread.Encode(seqAsJavaList(moves), true)
+
+}
@@ -0,0 +1,132 @@
+package xmodels
+import play.api.Play.current
+import play.api.db._
+import java.lang.management.ManagementFactory
+import java.sql.{Connection, SQLException}
+import java.util.concurrent.atomic.{AtomicInteger, AtomicLong}
+import javax.management.ObjectName
+import scala.collection.JavaConversions._
+import scala.util.control.ControlThrowable
+
+/**
+ * DB.withConnection and DB.withTransaction, timed: every connection DatabaseAccessor takes from the
+ * pool goes through here, so that we can see how long requests wait for one, how many are in use, and
+ * how often the pool runs dry. The pool itself is BoneCP, set up by Play from the db.default settings
+ * in application.conf; a checkout which fails has waited db.default.connectionTimeout for nothing.
+ */
+object ConnectionPool {
+
+  private val checkouts = new AtomicLong
+  private val checkoutNanos = new AtomicLong
+  private val maxCheckoutNanos = new AtomicLong
+  private val timeouts = new AtomicLong
+  private val active = new AtomicInteger
+  private val peakActive = new AtomicInteger
+
+  // BoneCP publishes its own counts over JMX, with db.default.disableJMX=false
+  private val BoneCPBeans = new ObjectName("com.jolbox.bonecp:type=BoneCP,*")
+
+  def withConnection[A](block : Connection => A) : A = {
+
+    val start = System.nanoTime
+    var checkedOut = false
+
+    try {
+      return DB.withConnection { connection =>
+        checkedOut = true
+        checkedOutAfter(System.nanoTime - start)
+        try {
+          block(connection)
+        } finally {
+          active.decrementAndGet()
+        }
+      }
+    } catch {
+      case e : SQLException if !checkedOut => {
+        timeouts.incrementAndGet()
+        throw e
+      }
+    }
+
+  }
+
+  /**
+   * Like DB.withTransaction, except that a return from inside the block commits, as it does with
+   * withConnection, instead of rolling back.
+   */
+  def withTransaction[A](block : Connection => A) : A = {
+
+    return withConnection { connection =>
+      try {
+        connection.setAutoCommit(false)
+        val result = block(connection)
+        connection.commit()
+        result
+      } catch {
+        case e : ControlThrowable => {
+          connection.commit()
+          throw e
+        }
+        case e => {
+          connection.rollback()
+          throw e
+        }
+      }
+    }
+
+  }
+
+  def stats : Map[String, Any] = {
+
+    val count = checkouts.get
+
+    Map(
+      "checkouts" -> count,
+      "averageCheckoutMicros" -> (if(count == 0) 0 else checkoutNanos.get / count / 1000),
+      "maxCheckoutMicros" -> maxCheckoutNanos.get / 1000,
+      "timeouts" -> timeouts.get,
+      "active" -> active.get,
+      "peakActive" -> peakActive.get,
+      "leased" -> poolCount("TotalLeased"),
+      "idle" -> poolCount("TotalFree"),
+      "created" -> poolCount("TotalCreatedConnections")
+    )
+
+  }
+
+  private def checkedOutAfter(nanos : Long) {
+
+    checkouts.incrementAndGet()
+    checkoutNanos.addAndGet(nanos)
+    var max = maxCheckoutNanos.get
+    while(nanos > max && !maxCheckoutNanos.compareAndSet(max, nanos)){
+      max = maxCheckoutNanos.get
+    }
+
+    val now = active.incrementAndGet()
+    var peak = peakActive.get
+    while(now > peak && !peakActive.compareAndSet(peak, now)){
+      peak = peakActive.get
+    }
+
+  }
+
+  // One of BoneCP's counts, over all its pools; -1 if it does not publish them
+  private def poolCount(attribute : String) : Int = {
+
+    val server = ManagementFactory.getPlatformMBeanServer
+    val beans = server.queryNames(BoneCPBeans, null)
+
+    if(beans.isEmpty){
+      return -1
+    }
+
+    try {
+      return beans.toList.map(bean => server.getAttribute(bean, attribute).asInstanceOf[Int]).sum
+    } catch {
+      case e : javax.management.JMException => return -1
+    }
+
+  }
+
+}
@@ -1,17 +1,26 @@
 package xmodels
 import play.api.Play.current
-import play.api.db._
 import anorm._
+import org.postgresql.PGConnection
+import org.postgresql.copy.CopyManager
+import javachess.jcGameCodec
 object DatabaseAccessor {
 
   val AUTHKEY = "xauthkey"
   val HANDLE = "handle"
   
+  // The account which owns the games imported from PGN files
+  val ARCHIVE = "xchess-archive"
+  
+  // What an archived game which cannot be decoded reads as, after the moves decoded before the
+  // problem: it is not a move, so that an integrity scan reports the game
+  val UNDECODABLE = "?"
+  
   def allUsers : List[ChessUser] = {
     
     var returnUsers = List[ChessUser]()
     
-    DB.withConnection{ implicit conn =>
+    ConnectionPool.withConnection{ implicit conn =>
 	      
       val getUsers = SQL("Select * from \"xusers\"")
       
@@ -23,15 +32,16 @@ object DatabaseAccessor {
     return returnUsers
   }
   
-  def parseIntoUser(user:ChessUser, internal : Boolean) : ChessUser = {
+  // Fills in the friends and games of user, on the connection the user was read with
+  private def parseIntoUser(user:ChessUser, internal : Boolean)(implicit conn : java.sql.Connection) : ChessUser = {
     var tempUser = user
     if(!internal){
       tempUser = ChessUser("xxx", "xxx", user.email, user.handle, "xxx")
     }
 	
-	tempUser.friends = getFriends(user.xauth)
+	tempUser.friends = friendsOf(user.xauth)
     	
-	tempUser.games = getGames(user.xauth)
+	tempUser.games = gamesOf(user.xauth)
     	
     return tempUser
     
@@ -39,7 +49,7 @@ object DatabaseAccessor {
   
   def rejectFriendRequest(user:String, friend:String){
     
-    DB.withConnection(implicit conn=>
+    ConnectionPool.withConnection(implicit conn=>
     
       SQL("delete from \"pending_friend_requests\" where requestee={user} AND requester={friend}").on(
       
@@ -53,7 +63,7 @@ object DatabaseAccessor {
   }
   
   def authCheck(appID:String) : Boolean = {
-    DB.withConnection{implicit conn =>
+    ConnectionPool.withConnection{implicit conn =>
       var rows = SQL("Select * from \"application_ids\" where appID={id}").on("id" -> appID).apply()
       
       println("returned row length for app auth: " + rows.length)
@@ -69,7 +79,7 @@ object DatabaseAccessor {
   
   def getUser(xauthkey : String, searchField : String,internal : Boolean) : ChessUser = {
     
-    DB.withConnection{ implicit conn =>
+    ConnectionPool.withConnection{ implicit conn =>
       
         var rows : Stream[anorm.SqlRow] = null 
         if(searchField.equals(HANDLE)){
@@ -91,39 +101,65 @@ object DatabaseAccessor {
     
     
    
+  }
+  
+  def getHandle(xauth : String) : Option[String] = {
+    
+    ConnectionPool.withConnection{ implicit conn =>
+      
+      return SQL("select handle from \"xusers\" where xauthkey = {xauth}").on(
+          "xauth" -> xauth
+          ).apply().headOption.map( row=>
+            row[String]("handle")
+          )
+      
+    }
+    
   }
   
   def getFriends(xauth : String) : List[String] = {
     
-    DB.withConnection{implicit conn =>
+    ConnectionPool.withConnection{implicit conn =>
+      
+      return friendsOf(xauth)
+      
+    }
+    
+  }
+  
+  private def friendsOf(xauth : String)(implicit conn : java.sql.Connection) : List[String] = {
       
       return SQL("SELECT \"xusers\".xauthkey, \"xusers\".handle as fhandle FROM \"xusers\", \"friendships\" WHERE (\"friendships\".userone = {user} AND \"xusers\".xauthkey = \"friendships\".usertwo) OR (\"friendships\".usertwo = {user} AND \"xusers\".xauthkey = \"friendships\".userone)").on(
     	"user" -> xauth
       ).apply().map(row=>
       	row[String]("fhandle")
       ).toList
-      
-    }
     
   }
   
   def getGames(user : String) : List[Game] = {
       
-      DB.withConnection{ implicit conn =>
+      ConnectionPool.withConnection{ implicit conn =>
           
-          return SQL("select * from \"games\" where white = {user} OR black = {user}").on(
-        	"user" -> user
-          ).apply().map( row=>
-          	new Game(row[Long]("id"), row[String]("white"), row[String]("black"), row[Int]("turn"))
-          ).toList
+          return gamesOf(user)
           
       }
       
   }
   
+  private def gamesOf(user : String)(implicit conn : java.sql.Connection) : List[Game] = {
+          
+      return SQL("select * from \"games\" where white = {user} OR black = {user}").on(
+        "user" -> user
+      ).apply().map( row=>
+        new Game(row[Long]("id"), row[String]("white"), row[String]("black"), row[Int]("turn"))
+      ).toList
+      
+  }
+  
   def createUser(user : ChessUser) = {
     
-    DB.withTransaction { implicit conn =>
+    ConnectionPool.withTransaction { implicit conn =>
      
     val id = SQL("INSERT INTO \"xusers\"(xauthkey, oauthkey, handle, secret, email) values({xauthkey},{oauthkey}, {handle}, {secret}, {email})").on(
          "xauthkey" -> user.xauth, 
@@ -141,7 +177,7 @@ object DatabaseAccessor {
   
   def createFriendship(user : String, friend : String) = {
     
-    DB.withTransaction{ implicit conn =>
+    ConnectionPool.withTransaction{ implicit conn =>
       
       SQL("""
           insert into "friendships"(userone, usertwo) values({user}, {friend});
@@ -157,22 +193,35 @@ object DatabaseAccessor {
     
   }
   
+  /**
+   * Turn the pending request id into a game, in one transaction: the request goes if and only if the
+   * game is created.
+   */
   def createGame(white : String, black : String, id : Long) : Long = {
       
-      DB.withConnection{ implicit conn =>
+      ConnectionPool.withTransaction{ implicit conn =>
           
           SQL("delete from \"pending_game_requests\" where id={id}").on(
         
               "id" -> id
           
+          ).executeUpdate
+         
+          return SQL("insert into \"games\"(white, black) values({white},{black})").on(
+        	"white" -> white,
+        	"black" -> black
           ).executeInsert().head
          
       }
-      DB.withConnection{ implicit conn =>
+  }
+  
+  def createBotGame(user : String, bot : String) : Long = {
+      
+      ConnectionPool.withConnection{ implicit conn =>
           
           return SQL("insert into \"games\"(white, black) values({white},{black})").on(
-        	"white" -> white,
-        	"black" -> black
+        	"white" -> user,
+        	"black" -> bot
           ).executeInsert().head
          
       }
@@ -182,7 +231,7 @@ object DatabaseAccessor {
     
     var game : Game = null
     var row : anorm.SqlRow = null 
-    DB.withConnection{ implicit conn=>
+    ConnectionPool.withConnection{ implicit conn=>
     
       row = SQL("select * from \"games\" where id = {gameID}").on(
           "gameID" -> gameID
@@ -200,7 +249,7 @@ object DatabaseAccessor {
     
     var game : Game = null
     var row : anorm.SqlRow = null 
-    DB.withConnection{ implicit conn=>
+    ConnectionPool.withConnection{ implicit conn=>
     
       row = SQL("select * from \"pending_game_requests\" where id = {gameID}").on(
           "gameID" -> gameID
@@ -216,7 +265,7 @@ object DatabaseAccessor {
   
   def rejectGame(gameID : Long){
     
-    DB.withConnection{ implicit conn=>
+    ConnectionPool.withConnection{ implicit conn=>
     
       SQL("delete from \"pending_game_requests\" where id = {gameID}").on(
           "gameID" -> gameID
@@ -229,7 +278,7 @@ object DatabaseAccessor {
   def getPendingGames(user : String) : List[Game] = {
     
    
-    DB.withConnection(implicit conn=>
+    ConnectionPool.withConnection(implicit conn=>
     
       return SQL("select * from \"pending_game_requests\" where requestee={user}").on("user" -> user).apply().map(row=>
       
@@ -243,7 +292,7 @@ object DatabaseAccessor {
   
   def getPendingFriends(user : String) : List[String] = {
     
-    DB.withConnection(implicit conn=> 
+    ConnectionPool.withConnection(implicit conn=> 
     
       return SQL("select \"xusers\".handle as uhandle from \"pending_friend_requests\", \"xusers\" where requester=\"xusers\".xauthkey AND requestee={user} ").on("user" -> user).apply().map( row=>
     		  row[String]("uhandle")
@@ -253,9 +302,13 @@ object DatabaseAccessor {
     
   }
   
-  def addMove(gameID : Long, player : String, move : String, turn : Int) {
+  /**
+   * Store a move. position is the key of the position the move led to, for the position index;
+   * resignations and draws have none.
+   */
+  def addMove(gameID : Long, player : String, move : String, turn : Int, position : Option[Long] = None) {
     
-    DB.withTransaction{ implicit conn =>
+    ConnectionPool.withTransaction{ implicit conn =>
       
       SQL("insert into \"transcripts\"(game, player, move) values({game}, {player}, {move})").on(
     		  
@@ -265,6 +318,14 @@ object DatabaseAccessor {
           
       ).executeInsert().head
       
+      // The move just stored is the last of the transcript, so its ply is the transcript's length
+      for(hash <- position){
+        SQL("insert into \"positions\"(hash, game, ply) select {hash}, {game}, count(*) from \"transcripts\" where game = {game}").on(
+            "hash" -> hash,
+            "game" -> gameID
+        ).executeUpdate
+      }
+      
       conn.commit()
      
       SQL("update \"games\" set turn={turn} where id={gameID}").on(
@@ -279,14 +340,365 @@ object DatabaseAccessor {
   
   def getTranscript(gameID : Long) : List[String] = {
     
-    DB.withConnection { implicit conn =>
+    ConnectionPool.withConnection { implicit conn =>
       
-      return SQL("select move from \"transcripts\" where game = {gameID} order by timePlayed").on(
+      val moves = SQL("select move from \"transcripts\" where game = {gameID} order by timePlayed, id").on(
           "gameID" -> gameID
           ).apply().map( row=> 
             new String(row[String]("move"))
           ).toList
       
+      if(!moves.isEmpty){
+        return moves
+      }
+      
+      // Archived games keep their moves encoded, with their details
+      val archived = conn.prepareStatement("select moves from \"archive_games\" where game = ? and moves is not null")
+      try {
+        archived.setLong(1, gameID)
+        val rows = archived.executeQuery()
+        return if(rows.next) decodeMoves(rows.getBytes(1)) else Nil
+      } finally {
+        archived.close()
+      }
+      
+    }
+    
+  }
+  
+  // The transcript of an archived game, from its jcGameCodec form
+  private def decodeMoves(encoded : Array[Byte]) : List[String] = {
+    
+    val moves = new java.util.ArrayList[String]
+    if(!jcGameCodec.ForCurrentThread.Decode(encoded, moves)){
+      moves.add(UNDECODABLE)
+    }
+    return scala.collection.JavaConversions.asScalaBuffer(moves).toList
+    
+  }
+  
+  /**
+   * Up to limit game ids greater than after, in increasing order: jobs which visit every game read
+   * them a page at a time, passing the last id of a page to get the next one.
+   */
+  def gameIdsAfter(after : Long, limit : Int) : List[Long] = {
+    
+    ConnectionPool.withConnection { implicit conn =>
+      
+      return SQL("select id from \"games\" where id > {after} order by id limit {limit}").on(
+          "after" -> after,
+          "limit" -> limit
+          ).apply().map( row=>
+            row[Long]("id")
+          ).toList
+      
+    }
+    
+  }
+  
+  /**
+   * Up to limit games with ids greater than after, with their transcripts, in increasing order of id;
+   * see gameIdsAfter.
+   */
+  def getTranscriptPage(after : Long, limit : Int) : Array[(Long, List[String])] = {
+    
+    val ids = gameIdsAfter(after, limit)
+    
+    if(ids.isEmpty){
+      return Array()
+    }
+    
+    val transcripts = getTranscriptsBetween(after, ids.last)
+    return ids.map(id => (id, transcripts.getOrElse(id, Nil))).toArray
+    
+  }
+  
+  /**
+   * Up to limit of a user's games, with ids greater than after, in increasing order; see gameIdsAfter.
+   */
+  def getGamesOfUserAfter(user : String, after : Long, limit : Int) : List[Game] = {
+    
+    ConnectionPool.withConnection { implicit conn =>
+      
+      return SQL("select * from \"games\" where (white = {user} OR black = {user}) and id > {after} order by id limit {limit}").on(
+          "user" -> user,
+          "after" -> after,
+          "limit" -> limit
+          ).apply().map( row=>
+            new Game(row[Long]("id"), row[String]("white"), row[String]("black"), row[Int]("turn"))
+          ).toList
+      
+    }
+    
+  }
+  
+  /**
+   * The transcripts of all the games with ids in (after, last], in one query, or only of those
+   * played by player if given; games without moves are left out. Moves come in the same order as
+   * from getTranscript.
+   */
+  def getTranscriptsBetween(after : Long, last : Long, player : Option[String] = None) : Map[Long, List[String]] = {
+    
+    val transcripts = scala.collection.mutable.Map[Long, scala.collection.mutable.ListBuffer[String]]()
+    
+    val ofPlayer = if(player.isDefined) " and game in (select id from \"games\" where white = {player} OR black = {player})" else ""
+    
+    ConnectionPool.withConnection { implicit conn =>
+      
+      SQL("select game, move from \"transcripts\" where game > {after} and game <= {last}" + ofPlayer + " order by game, timePlayed, id").on(
+          "after" -> after,
+          "last" -> last,
+          "player" -> player.getOrElse("")
+          ).apply().foreach( row=>
+            transcripts.getOrElseUpdate(row[Long]("game"), new scala.collection.mutable.ListBuffer[String]) += row[String]("move")
+          )
+      
+      val archived = conn.prepareStatement("select game, moves from \"archive_games\" where game > ? and game <= ? and moves is not null" +
+          (if(player.isDefined) " and game in (select id from \"games\" where white = ? OR black = ?)" else ""))
+      try {
+        archived.setLong(1, after)
+        archived.setLong(2, last)
+        if(player.isDefined){
+          archived.setString(3, player.get)
+          archived.setString(4, player.get)
+        }
+        val rows = archived.executeQuery()
+        while(rows.next){
+          transcripts.getOrElseUpdate(rows.getLong(1), new scala.collection.mutable.ListBuffer[String]) ++= decodeMoves(rows.getBytes(2))
+        }
+      } finally {
+        archived.close()
+      }
+      
+    }
+    
+    return transcripts.map { case (game, moves) => (game, moves.toList) }.toMap
+    
+  }
+  
+  /**
+   * The results, as written in their PGN, of the archived games with ids in (after, last].
+   */
+  def getArchiveResultsBetween(after : Long, last : Long) : Map[Long, String] = {
+    
+    ConnectionPool.withConnection { implicit conn =>
+      
+      return SQL("select game, result from \"archive_games\" where game > {after} and game <= {last}").on(
+          "after" -> after,
+          "last" -> last
+          ).apply().map( row=>
+            (row[Long]("game"), row[String]("result"))
+          ).toMap
+      
+    }
+    
+  }
+  
+  /**
+   * The tags of an archived game, as written in its PGN, or None if gameID was not imported; the moves
+   * are left out, getTranscript reads those.
+   */
+  def getArchiveTags(gameID : Long) : Option[ArchiveGame] = {
+    
+    ConnectionPool.withConnection { implicit conn =>
+      
+      return SQL("select white, black, event, datePlayed, result from \"archive_games\" where game = {game}").on(
+          "game" -> gameID
+          ).apply().map(archiveTags).headOption
+      
+    }
+    
+  }
+  
+  /**
+   * The tags of the archived games with ids in (after, last], as getArchiveTags.
+   */
+  def getArchiveTagsBetween(after : Long, last : Long) : Map[Long, ArchiveGame] = {
+    
+    ConnectionPool.withConnection { implicit conn =>
+      
+      return SQL("select game, white, black, event, datePlayed, result from \"archive_games\" where game > {after} and game <= {last}").on(
+          "after" -> after,
+          "last" -> last
+          ).apply().map( row=>
+            (row[Long]("game"), archiveTags(row))
+          ).toMap
+      
+    }
+    
+  }
+  
+  // PGN's name for an unknown tag value is "?"
+  private def archiveTags(row : anorm.SqlRow) : ArchiveGame = ArchiveGame(
+      row[Option[String]]("white").getOrElse("?"),
+      row[Option[String]]("black").getOrElse("?"),
+      row[Option[String]]("event").getOrElse("?"),
+      row[Option[String]]("datePlayed").getOrElse("????.??.??"),
+      row[Option[String]]("result").getOrElse("*"),
+      Nil)
+  
+  /**
+   * Store games read from PGN files, all in one transaction, and return their ids. The games rows are
+   * inserted one at a time, for their ids; the details go in a JDBC batch, with the moves encoded by
+   * jcGameCodec instead of in transcripts, and the positions in a batch too, or through COPY when the
+   * database is PostgreSQL. getTranscript and getTranscriptsBetween decode the moves.
+   */
+  def archiveGames(games : Seq[ArchiveGame]) : List[Long] = {
+    
+    val ids = ConnectionPool.withTransaction { implicit conn =>
+      
+      val ids = games.map( game=>
+        SQL("insert into \"games\"(white, black, turn) values({archive}, {archive}, {turn})").on(
+            "archive" -> ARCHIVE,
+            "turn" -> game.moves.length % 2
+            ).executeInsert().head
+      ).toList
+      
+      val details = conn.prepareStatement("insert into \"archive_games\"(game, white, black, event, datePlayed, result, moves) values(?, ?, ?, ?, ?, ?, ?)")
+      try {
+        for((id, game) <- ids.zip(games)){
+          details.setLong(1, id)
+          details.setString(2, game.white)
+          details.setString(3, game.black)
+          details.setString(4, game.event)
+          details.setString(5, game.date)
+          details.setString(6, game.result)
+          details.setBytes(7, game.encodedMoves)
+          details.addBatch()
+        }
+        details.executeBatch()
+      } finally {
+        details.close()
+      }
+      
+      insertPositions(conn, for((id, game) <- ids.zip(games); (hash, ply) <- game.positions.zipWithIndex) yield (id, ply + 1, hash))
+      
+      ids
+      
+    }
+    
+    return ids
+    
+  }
+  
+  /**
+   * PostgreSQL's bulk loader, if that is what conn is connected to; archiveGames and reindexGames
+   * use COPY when there is one, and a JDBC batch otherwise. Play hands out its own wrapper around
+   * BoneCP's connection, so the driver's is reached with unwrap, which H2's does not support.
+   */
+  def copyManager(conn : java.sql.Connection) : Option[CopyManager] = {
+    
+    try {
+      if(conn.isWrapperFor(classOf[PGConnection])){
+        return Some(conn.unwrap(classOf[PGConnection]).getCopyAPI)
+      }
+    } catch {
+      case e : java.sql.SQLException =>
+    }
+    
+    return None
+    
+  }
+  
+  /**
+   * Up to limit of the games which reached the position with the given key, with ids greater than
+   * after, in increasing order; see gameIdsAfter.
+   */
+  def gamesReaching(hash : Long, after : Long, limit : Int) : List[PositionMatch] = {
+    
+    ConnectionPool.withConnection { implicit conn =>
+      
+      return SQL("select game, min(ply) as ply from \"positions\" where hash = {hash} and game > {after} group by game order by game limit {limit}").on(
+          "hash" -> hash,
+          "after" -> after,
+          "limit" -> limit
+          ).apply().map( row=>
+            PositionMatch(row[Long]("game"), row[Int]("ply"))
+          ).toList
+      
+    }
+    
+  }
+  
+  /**
+   * Replace the position index of the games with ids in (after, last] by positions, as
+   * (game, ply, key), in one transaction. positions were worked out from transcripts read earlier,
+   * whose lengths are in read: the page's games are locked against new moves, and any game which was
+   * moved in since then is read again and indexed by index instead. Returns the number of positions
+   * indexed.
+   */
+  def reindexGames(after : Long, last : Long, read : Map[Long, Int], positions : Seq[(Long, Int, Long)],
+                   index : (Long, List[String]) => Seq[(Long, Int, Long)]) : Int = {
+    
+    ConnectionPool.withTransaction { implicit conn =>
+      
+      // Storing a move checks its game's row, which this holds until the transaction ends
+      SQL("select id from \"games\" where id > {after} and id <= {last} for update").on(
+          "after" -> after,
+          "last" -> last
+          ).apply().toList
+      
+      // Archived games have no transcript rows, and are never played on
+      val stale = SQL("select game, count(*) as moves from \"transcripts\" where game > {after} and game <= {last} group by game").on(
+          "after" -> after,
+          "last" -> last
+          ).apply().map( row=>
+            (row[Long]("game"), row[Long]("moves").toInt)
+          ).toList.filter { case (game, moves) => read.getOrElse(game, 0) != moves }.map(_._1).toSet
+      
+      val fresh = stale.toList.flatMap( game=>
+        index(game, SQL("select move from \"transcripts\" where game = {game} order by timePlayed, id").on(
+            "game" -> game
+            ).apply().map( row=>
+              row[String]("move")
+            ).toList)
+      )
+      
+      SQL("delete from \"positions\" where game > {after} and game <= {last}").on(
+          "after" -> after,
+          "last" -> last
+          ).executeUpdate
+      
+      val rows = positions.filter(position => !stale.contains(position._1)) ++ fresh
+      insertPositions(conn, rows)
+      
+      return rows.length
+      
+    }
+    
+  }
+  
+  // Index positions, as (game, ply, key), through COPY when the database is PostgreSQL
+  private def insertPositions(conn : java.sql.Connection, positions : Seq[(Long, Int, Long)]) {
+    
+    if(positions.isEmpty){
+      return
+    }
+    
+    copyManager(conn) match {
+      
+      case Some(copy) => {
+        val rows = new StringBuilder
+        for((game, ply, hash) <- positions){
+          rows.append(hash).append('\t').append(game).append('\t').append(ply).append('\n')
+        }
+        copy.copyIn("COPY \"positions\"(hash, game, ply) FROM STDIN", new java.io.StringReader(rows.toString))
+      }
+      
+      case None => {
+        val insert = conn.prepareStatement("insert into \"positions\"(hash, game, ply) values(?, ?, ?)")
+        try {
+          for((game, ply, hash) <- positions){
+            insert.setLong(1, hash)
+            insert.setLong(2, game)
+            insert.setInt(3, ply)
+            insert.addBatch()
+          }
+          insert.executeBatch()
+        } finally {
+          insert.close()
+        }
+      }
       
     }
     
@@ -294,7 +706,7 @@ object DatabaseAccessor {
   
   def createPendingFriendship(requester : String, requestee : String) : Long = {
     
-    DB.withConnection{ implicit conn =>
+    ConnectionPool.withConnection{ implicit conn =>
     
       return SQL("insert into \"pending_friend_requests\"(requester, requestee) values({requester}, {requestee})").on(
         "requester" -> requester,
@@ -307,7 +719,7 @@ object DatabaseAccessor {
   
   def updateEmail(user : String, email : String) { 
     
-    DB.withConnection {implicit conn=>
+    ConnectionPool.withConnection {implicit conn=>
     
       SQL("UPDATE \"xusers\" SET email={email} WHERE xauthkey={user}").on(
       
@@ -320,51 +732,46 @@ object DatabaseAccessor {
     
   }
   
+  /**
+   * Pair user with someone waiting for a random game, or queue them if nobody is; returns the
+   * opponent, or user if queued. One connection, and one transaction, serve the whole exchange.
+   */
   def randomGameCreate(user : String) : String = {
     
-    var otherPlayer : String = null
-    var rows : List[String] = null
-    
-    DB.withConnection( implicit conn =>
+    ConnectionPool.withTransaction{ implicit conn =>
       
-      rows = SQL("select * from \"random_game_queue\" where player <> {user}").on("user" -> user).apply.map(row => 
+      val waiting = SQL("select * from \"random_game_queue\" where player <> {user}").on("user" -> user).apply.map(row => 
          row[String]("player")
 	  ).toList
       
-    )
-    
-    if(rows.length > 0){
-      
-      otherPlayer = rows.head
+      if(waiting.isEmpty){
+        
+        SQL("insert into \"random_game_queue\"(player) values({player})").on("player" -> user).executeInsert()
+        return user
+        
+      }
       
-      DB.withConnection(implicit conn =>
+      val otherPlayer = waiting.head
       
-        SQL("""
-            insert into "pending_game_requests"(requester, requestee) values({player}, {otherplayer});
-            delete from "random_game_queue" where player = {otherplayer};
-            """).on(
-            
-                "player" -> user,
-                "otherplayer" -> otherPlayer
-                
-            ).executeUpdate
+      SQL("""
+          insert into "pending_game_requests"(requester, requestee) values({player}, {otherplayer});
+          delete from "random_game_queue" where player = {otherplayer};
+          """).on(
+          
+              "player" -> user,
+              "otherplayer" -> otherPlayer
+              
+          ).executeUpdate
       
-      )
+      return otherPlayer
       
-    } else {
-      DB.withConnection( implicit conn =>
-         SQL("insert into \"random_game_queue\"(player) values({player})").on("player" -> user).executeInsert()
-      )
-      otherPlayer = user
     }
     
-    return otherPlayer
-    
   }
   
   def gameRequestCreate(user : String, opponent : String) {
     
-    DB.withConnection(implicit conn =>
+    ConnectionPool.withConnection(implicit conn =>
     
       SQL("insert into \"pending_game_requests\"(requester, requestee) values({player}, {otherplayer})").on(
       
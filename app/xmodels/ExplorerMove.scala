@@ -0,0 +1,8 @@
+package xmodels
+
+/**
+ * A move played in a position, in the client's format, and the results of the games which played it.
+ */
+case class ExplorerMove(move : String, white : Int, draws : Int, black : Int) {
+
+}
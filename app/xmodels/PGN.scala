@@ -0,0 +1,211 @@
+package xmodels
+
+import javachess._
+import java.io.InputStream
+
+/**
+ * Games in Portable Game Notation, for chess tools: the seven tag roster, then the moves in standard
+ * algebraic notation. Transcripts are replayed with the calling thread's jcGameValidator.
+ */
+object PGN {
+
+  val CONTENT_TYPE = "application/x-chess-pgn"
+
+  // Games read at a time when exporting a user's history
+  val PAGE_SIZE = 64
+
+  // The export format keeps lines under 80 characters
+  val LINE_WIDTH = 79
+
+  def export(game : Game, white : String, black : String, transcript : List[String], archived : Option[ArchiveGame] = None) : String = {
+
+    val out = new StringBuilder
+    write(out, game, white, black, transcript, archived)
+    return out.toString
+
+  }
+
+  /**
+   * Append one game to out, followed by a blank line. white and black are the players' handles.
+   * A transcript which stops being legal is cut short, with a comment saying where, and gets the
+   * result "*". An archived game keeps the event, date, players and result of the PGN it was imported
+   * from, as its transcript only has the moves.
+   */
+  def write(out : StringBuilder, game : Game, white : String, black : String, transcript : List[String],
+            archived : Option[ArchiveGame] = None) {
+
+    val validator = jcGameValidator.ForCurrentThread
+    validator.Reset()
+
+    val move = new jcMove
+    val san = new java.lang.StringBuilder
+    val moves = new StringBuilder
+    var lineStart = 0
+
+    def token(text : String) {
+      if(moves.length > lineStart && moves.length - lineStart + 1 + text.length > LINE_WIDTH){
+        moves.append('\n')
+        lineStart = moves.length
+      } else if(moves.length > lineStart){
+        moves.append(' ')
+      }
+      moves.append(text)
+    }
+
+    var result = "*"
+    var lastSAN = ""
+    var stopped = false
+    var illegal = false
+    val entries = transcript.iterator
+
+    while(!stopped && entries.hasNext){
+
+      val entry = entries.next
+
+      if(entry.equals(jcNotation.RESIGNATION)){
+
+        // Players resign on their own turn
+        result = if(validator.GetBoard.GetCurrentPlayer == jcPlayer.SIDE_WHITE) "0-1" else "1-0"
+        stopped = true
+
+      } else if(entry.equals(jcNotation.DRAW)){
+
+        result = "1/2-1/2"
+        stopped = true
+
+      } else {
+
+        val ply = validator.GetPly
+        san.setLength(0)
+
+        if(!jcNotation.ParseWireMove(entry, move) || !validator.PlayWritingSAN(move, san)){
+          token("{entry " + ply + " (" + entry + ") is not a legal move}")
+          stopped = true
+          illegal = true
+        } else {
+          if(ply % 2 == 0){
+            token((ply / 2 + 1) + ".")
+          }
+          lastSAN = san.toString
+          token(lastSAN)
+        }
+
+      }
+
+    }
+
+    if(!stopped && validator.GetPly > 0 && !validator.HasLegalMove){
+      val whiteMovedLast = validator.GetPly % 2 == 1
+      result = if(!lastSAN.endsWith("#")) "1/2-1/2" else if(whiteMovedLast) "1-0" else "0-1"
+    }
+
+    if(!illegal){
+      archived.foreach(tags => result = tags.result)
+    }
+
+    token(result)
+
+    tag(out, "Event", archived.map(_.event).getOrElse("xChess game " + game.id))
+    tag(out, "Site", if(archived.isDefined) "?" else "www.xchess.co.uk")
+    tag(out, "Date", archived.map(_.date).getOrElse("????.??.??"))
+    tag(out, "Round", "-")
+    tag(out, "White", archived.map(_.white).getOrElse(white))
+    tag(out, "Black", archived.map(_.black).getOrElse(black))
+    tag(out, "Result", result)
+    out.append('\n').append(moves).append("\n\n")
+
+  }
+
+  private def tag(out : StringBuilder, name : String, value : String) {
+
+    out.append('[').append(name).append(" \"")
+    for(c <- value){
+      if(c == '"' || c == '\\'){
+        out.append('\\')
+      }
+      out.append(c)
+    }
+    out.append("\"]\n")
+
+  }
+
+}
+
+/**
+ * A user's whole history in PGN, oldest game first, read from the database a page of games at a time
+ * as the stream is consumed: exporting thousands of games only ever holds one page of them. The
+ * players' handles are looked up once per opponent, and archived games keep their own tags.
+ */
+class PGNHistoryStream(user : String, pageSize : Int = PGN.PAGE_SIZE) extends InputStream {
+
+  private var buffer = new Array[Byte](0)
+  private var position = 0
+  private var lastGame = 0L
+  private var finished = false
+  private val handles = scala.collection.mutable.Map[String, String]()
+
+  override def read() : Int = {
+
+    if(!fill()){
+      return -1
+    }
+    position += 1
+    return buffer(position - 1) & 0xff
+
+  }
+
+  override def read(into : Array[Byte], offset : Int, length : Int) : Int = {
+
+    if(length == 0){
+      return 0
+    }
+    if(!fill()){
+      return -1
+    }
+    val count = math.min(length, buffer.length - position)
+    System.arraycopy(buffer, position, into, offset, count)
+    position += count
+    return count
+
+  }
+
+  override def available() : Int = buffer.length - position
+
+  // Make sure there is something left in the buffer, reading the next page if needed; false at the end
+  private def fill() : Boolean = {
+
+    while(position == buffer.length){
+
+      if(finished){
+        return false
+      }
+
+      val games = DatabaseAccessor.getGamesOfUserAfter(user, lastGame, pageSize)
+
+      if(games.isEmpty){
+        finished = true
+        return false
+      }
+
+      val transcripts = DatabaseAccessor.getTranscriptsBetween(lastGame, games.last.id, Some(user))
+      val archived = if(games.exists(_.white == DatabaseAccessor.ARCHIVE)) DatabaseAccessor.getArchiveTagsBetween(lastGame, games.last.id) else Map[Long, ArchiveGame]()
+      val out = new StringBuilder
+      for(game <- games){
+        PGN.write(out, game, handle(game.white), handle(game.black), transcripts.getOrElse(game.id, Nil), archived.get(game.id))
+      }
+
+      buffer = out.toString.getBytes("UTF-8")
+      position = 0
+      lastGame = games.last.id
+      finished = games.length < pageSize
+
+    }
+
+    return true
+
+  }
+
+  // PGN's name for an unknown player is "?"
+  private def handle(xauth : String) : String = handles.getOrElseUpdate(xauth, DatabaseAccessor.getHandle(xauth).getOrElse("?"))
+
+}
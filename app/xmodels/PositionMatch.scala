@@ -0,0 +1,9 @@
+package xmodels
+
+/**
+ * A stored game which reached a position, and the number of plies it took to get there (the first
+ * time, if the position came back later in the game).
+ */
+case class PositionMatch(game : Long, ply : Int) {
+
+}
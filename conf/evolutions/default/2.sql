@@ -0,0 +1,13 @@
+# bot account
+ 
+# --- !Ups
+
+INSERT INTO "xusers"(xauthkey, email, oauthkey, handle, secret) values ('xchess-bot', 'bot@xchess.co.uk', 'none', 'xChessBot', 'none');
+
+# --- !Downs
+
+DELETE FROM "transcripts" WHERE game IN (SELECT id FROM "games" WHERE white = 'xchess-bot' OR black = 'xchess-bot');
+
+DELETE FROM "games" WHERE white = 'xchess-bot' OR black = 'xchess-bot';
+
+DELETE FROM "xusers" WHERE xauthkey = 'xchess-bot';
@@ -0,0 +1,27 @@
+# game archive
+ 
+# --- !Ups
+
+INSERT INTO "xusers"(xauthkey, email, oauthkey, handle, secret) values ('xchess-archive', 'archive@xchess.co.uk', 'none', 'xChessArchive', 'none');
+
+CREATE TABLE "archive_games" (
+
+	game integer REFERENCES "games"(id),
+	white varchar(255),
+	black varchar(255),
+	event varchar(255),
+	datePlayed varchar(10),
+	result varchar(7),
+	PRIMARY KEY (game)
+
+);
+
+# --- !Downs
+
+DROP TABLE "archive_games";
+
+DELETE FROM "transcripts" WHERE game IN (SELECT id FROM "games" WHERE white = 'xchess-archive');
+
+DELETE FROM "games" WHERE white = 'xchess-archive';
+
+DELETE FROM "xusers" WHERE xauthkey = 'xchess-archive';
@@ -0,0 +1,19 @@
+# position index
+ 
+# --- !Ups
+
+CREATE TABLE "positions" (
+
+	hash bigint,
+	game integer REFERENCES "games"(id),
+	ply integer
+
+);
+
+CREATE INDEX positions_hash ON "positions"(hash);
+
+CREATE INDEX positions_game ON "positions"(game);
+
+# --- !Downs
+
+DROP TABLE "positions";
@@ -0,0 +1,9 @@
+# archived moves in binary
+ 
+# --- !Ups
+
+ALTER TABLE "archive_games" ADD COLUMN moves bytea;
+
+# --- !Downs
+
+ALTER TABLE "archive_games" DROP COLUMN moves;
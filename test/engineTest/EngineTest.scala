@@ -0,0 +1,36 @@
+package engineTest
+import org.specs2.mutable._
+import play.api.test._
+import play.api.test.Helpers._
+import javachess._
+import controllers.Engine
+
+class EngineTest extends Specification {
+
+  // Squares are numbered from a8, line by line
+  def square(name : String) : Int = (7 - (name(1) - '1')) * 8 + (name(0) - 'a')
+
+  "The engine" should {
+
+    "load the endgame bitbases, and still find mates in the positions they cover" in {
+
+      running(FakeApplication(additionalConfiguration = inMemoryDatabase())){
+
+        // White: Kc6, Rh1; Black: Kb8; White mates in two
+        val board = new jcBoard
+        board.SetupPosition(Array(square("c6"), square("h1"), square("b8")),
+            Array(jcBoard.WHITE_KING, jcBoard.WHITE_ROOK, jcBoard.BLACK_KING), 3, jcPlayer.SIDE_WHITE)
+
+        val agent = new jcSearchAgent(new jcTranspositionTable(Engine.ANALYSIS_TABLE_SIZE))
+        val control = new jcSearchControl(10000, jcSearchControl.UNLIMITED)
+        val result = Engine.submit(agent, board, 8, control).get.Await(20000)
+
+        jcBitbase.Probe(board) == jcBitbase.RESULT_WIN && result.Score == jcSearchAgent.MATE - 3
+
+      }
+
+    }
+
+  }
+
+}
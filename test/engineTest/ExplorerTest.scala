@@ -0,0 +1,46 @@
+package engineTest
+import org.specs2.mutable._
+import play.api.test._
+import play.api.test.Helpers._
+import xmodels._
+import javachess._
+import controllers.Explorer
+import TestGames._
+
+class ExplorerTest extends Specification {
+
+  val start = key(Nil)
+
+  "The opening explorer" should {
+
+    "count each game once, when it ends, and the same again when rebuilt" in {
+
+      running(FakeApplication(additionalConfiguration = inMemoryDatabase())){
+
+        createPlayers()
+
+        // Fool's mate, then a resignation which comes too late
+        val mated = storeGame(List("B6 C6", "G5 E5", "B7 D7", "H4 D8"))
+        Explorer.gameEnded(mated)
+        DatabaseAccessor.addMove(mated, white.xauth, jcNotation.RESIGNATION, 0)
+        Explorer.gameEnded(mated)
+
+        val resigned = storeGame(List("B5 D5", jcNotation.RESIGNATION))
+        Explorer.gameEnded(resigned)
+
+        val unfinished = storeGame(List("B4 D4"))
+        Explorer.gameEnded(unfinished)
+
+        val expected = Set(ExplorerMove("B6 C6", 0, 0, 1), ExplorerMove("B5 D5", 1, 0, 0))
+        val counted = Explorer.moves(start).toSet
+        val report = Explorer.rebuild(new java.io.StringWriter)
+
+        counted == expected && Explorer.moves(start).toSet == expected && report.games == 3 && report.counted == 2
+
+      }
+
+    }
+
+  }
+
+}
@@ -0,0 +1,66 @@
+package engineTest
+import org.specs2.mutable._
+import javachess._
+import scala.collection.JavaConversions._
+
+class GameCodecTest extends Specification {
+
+  // Moves in the wire notation: rank letter (A = White's first rank), then file digit
+  val knightsOut = List("A7 C6", "H7 F6")
+  val knightsBack = List("C6 A7", "F6 H7")
+  val promotion = List("B8 D8", "G7 E7", "D8 E7", "G8 F8", "E7 F8", "H7 F6", "F8 G8", "F6 H7", "G8 H7 Q", "H8 H7")
+
+  def decode(codec : jcGameCodec, encoded : Array[Byte]) : (Boolean, List[String]) = {
+    val moves = new java.util.ArrayList[String]
+    val legal = codec.Decode(encoded, moves)
+    (legal, moves.toList)
+  }
+
+  "A game codec" should {
+
+    "give back the transcript it encoded, in a byte per entry" in {
+
+      val codec = new jcGameCodec
+      val games = List(Nil, promotion, knightsOut ++ List(jcNotation.DRAW), promotion ++ List(jcNotation.RESIGNATION))
+
+      games.forall( game=> {
+        val encoded = codec.Encode(game, false)
+        encoded.length == game.length + 1 && decode(codec, encoded) == (true, game)
+      })
+
+    }
+
+    "compress long games, and still decode them" in {
+
+      val codec = new jcGameCodec
+      val game = List.fill(25)(knightsOut ++ knightsBack).flatten
+
+      val encoded = codec.Encode(game, true)
+      (encoded(0) & jcGameCodec.FLAG_DEFLATED) != 0 && encoded.length < game.length / 4 && decode(codec, encoded) == (true, game)
+
+    }
+
+    "refuse illegal transcripts" in {
+
+      val codec = new jcGameCodec
+
+      codec.Encode(List("B5 D5", "B5 D5"), false) == null &&
+      codec.Encode(List(jcNotation.RESIGNATION, "B5 D5"), false) == null
+
+    }
+
+    "stop at the first code which is not a legal move" in {
+
+      val codec = new jcGameCodec
+      val encoded = codec.Encode(knightsOut ++ knightsBack, false)
+      encoded(3) = 200.toByte
+
+      decode(codec, encoded) == (false, knightsOut) &&
+      !codec.Decode(Array[Byte](2, 0), new java.util.ArrayList[String]) &&
+      !codec.Decode(Array[Byte]((jcGameCodec.VERSION | jcGameCodec.FLAG_DEFLATED).toByte, 1, 2, 3), new java.util.ArrayList[String])
+
+    }
+
+  }
+
+}
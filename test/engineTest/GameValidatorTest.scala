@@ -0,0 +1,119 @@
+package engineTest
+import org.specs2.mutable._
+import javachess._
+import xmodels.Move
+import controllers.MoveException
+
+class GameValidatorTest extends Specification {
+
+  // Moves in the wire notation: rank letter (A = White's first rank), then file digit
+  val knightsOut = List("A7 C6", "H7 F6")
+  val knightsBack = List("C6 A7", "F6 H7")
+  val kingsPawns = List("B5 D5", "G5 E5")
+
+  def play(validator : jcGameValidator, moves : List[String]) {
+    for(move <- moves){
+      validator.Play(new Move(move, "").convertToEngine)
+    }
+  }
+
+  "A validator" should {
+
+    "be back in the starting position after a reset" in {
+
+      val validator = new jcGameValidator
+      play(validator, kingsPawns ++ List("A6 D3", "H6 E3", "A5 A6"))
+      validator.Reset()
+
+      val fresh = new jcBoard
+      validator.GetPly == 0 &&
+      validator.GetBoard.GetPositionKey == fresh.GetPositionKey &&
+      validator.GetBoard.GetEnPassantSquare == jcBoard.NO_EN_PASSANT &&
+      validator.GetBoard.GetHalfmoveClock == 0
+
+    }
+
+    "not carry the positions of a game over to the next one" in {
+
+      val validator = new jcGameValidator
+      play(validator, knightsOut ++ knightsBack ++ knightsOut ++ knightsBack)
+      validator.Reset()
+      play(validator, knightsOut ++ knightsBack)
+
+      // Seen twice in this game; a leaked history would make it a threefold repetition
+      validator.GetBoard.RepetitionCount == 1 && !validator.GetBoard.IsThreefoldRepetition
+
+    }
+
+    "leave the position unchanged when given an illegal move" in {
+
+      val validator = new jcGameValidator
+      play(validator, kingsPawns)
+      val before = validator.GetBoard.GetPositionKey
+
+      val rejected = try {
+        play(validator, List("A5 D5"))
+        false
+      } catch {
+        case e : MoveException => true
+      }
+
+      rejected && validator.GetPly == 2 && validator.GetBoard.GetPositionKey == before
+
+    }
+
+    "replay the same game to the same position, whatever came before" in {
+
+      val validator = new jcGameValidator
+      play(validator, kingsPawns ++ knightsOut)
+      val expected = validator.GetBoard.GetPositionKey
+
+      validator.Reset()
+      play(validator, List("B4 D4", "G4 E4", "B3 C3"))
+      validator.Reset()
+      play(validator, kingsPawns ++ knightsOut)
+
+      validator.GetBoard.GetPositionKey == expected
+
+    }
+
+    "give transposed positions the same key" in {
+
+      val validator = new jcGameValidator
+      play(validator, List("B4 D4", "H7 F6", "B3 D3"))
+      val queensGambit = validator.GetBoard.GetPositionKey
+
+      validator.Reset()
+      play(validator, List("B3 D3", "H7 F6", "B4 D4"))
+
+      validator.GetBoard.GetPositionKey == queensGambit &&
+      validator.GetBoard.GetEnPassantSquare == jcBoard.NO_EN_PASSANT
+
+    }
+
+    "only keep the en passant square when a pawn can capture on it" in {
+
+      val validator = new jcGameValidator
+      play(validator, List("B5 D5", "H7 F6", "D5 E5", "G4 E4"))
+
+      validator.GetBoard.GetEnPassantSquare != jcBoard.NO_EN_PASSANT
+
+    }
+
+    "be different for each thread" in {
+
+      var other : jcGameValidator = null
+      val thread = new Thread(new Runnable {
+        def run() { other = jcGameValidator.ForCurrentThread }
+      })
+      thread.start()
+      thread.join()
+
+      (jcGameValidator.ForCurrentThread eq jcGameValidator.ForCurrentThread) &&
+      other != null && !(other eq jcGameValidator.ForCurrentThread)
+
+    }
+
+  }
+
+}
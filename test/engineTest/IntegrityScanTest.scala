@@ -0,0 +1,52 @@
+package engineTest
+import org.specs2.mutable._
+import play.api.test._
+import play.api.test.Helpers._
+import xmodels._
+import controllers.IntegrityScan
+import TestGames._
+
+class IntegrityScanTest extends Specification {
+
+  "An integrity scan" should {
+
+    "find the corrupt games among the legal ones, a page at a time" in {
+
+      running(FakeApplication(additionalConfiguration = inMemoryDatabase())){
+
+        createPlayers()
+
+        storeGame(List("B5 D5", "G5 E5", "A7 C6", "H7 F6"))
+        val wrongPiece = storeGame(List("B5 D5", "G5 E5", "B5 D5"))
+        storeGame(List())
+        val afterResignation = storeGame(List("B5 D5", "RESIG", "G5 E5"))
+        storeGame(List("B4 D4", "G4 E4", "B3 C3", "H7 F6", "RESIG"))
+
+        val out = new java.io.StringWriter
+        val report = IntegrityScan.run(out, 2, 2)
+        val text = out.toString
+
+        report.games == 5 && report.corrupt == 2 && report.plies == 4 + 2 + 0 + 1 + 4 &&
+        text.contains("game " + wrongPiece + ": entry 2 (B5 D5)") &&
+        text.contains("game " + afterResignation + ": entry 2 (G5 E5)")
+
+      }
+
+    }
+
+    "report nothing on an empty database" in {
+
+      running(FakeApplication(additionalConfiguration = inMemoryDatabase())){
+
+        val out = new java.io.StringWriter
+        val report = IntegrityScan.run(out)
+
+        report.games == 0 && report.corrupt == 0 && out.toString.startsWith("0 games")
+
+      }
+
+    }
+
+  }
+
+}
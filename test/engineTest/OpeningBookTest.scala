@@ -0,0 +1,53 @@
+package engineTest
+import org.specs2.mutable._
+import javachess._
+
+class OpeningBookTest extends Specification {
+
+  val pgn = """[Event "Queen's Gambit order"]
+[Result "1-0"]
+
+1. d4 Nf6 2. c4 e6 {a comment
+over two lines} 3. Nc3 (3. Nf3 b6) Bb4 $1 1-0
+
+[Event "English order"]
+[Result "0-1"]
+
+1.c4 Nf6 2.d4 e6 3.Nc3 Bb4 ; the Nimzo-Indian
+4. Qc2 0-1
+
+[Event "Set up"]
+[FEN "8/8/8/8/8/8/8/K6k w - - 0 1"]
+
+1. Kb1 *
+"""
+
+  "An opening book built from PGN" should {
+
+    "merge transposed games, and leave out what was played only once" in {
+
+      val builder = new jcOpeningBookBuilder(16, 2)
+      builder.ReadPGN(new java.io.StringReader(pgn))
+      val out = new java.io.ByteArrayOutputStream
+      val entries = builder.Write(out)
+      val book = new jcOpeningBook(java.nio.ByteBuffer.wrap(out.toByteArray))
+
+      // 1.d4 Nf6 2.c4 e6, reached by both games
+      val validator = new jcGameValidator
+      for(move <- List("B4 D4", "H7 F6", "B3 D3", "G5 F5")){
+        validator.PlayWire(move)
+      }
+      val booked = book.Query(validator.GetBoard, new jcMoveListGenerator)
+
+      val start = new jcBoard
+      start.StartingBoard()
+
+      builder.GetGamesRead == 3 && builder.GetGamesRejected == 1 && entries == 3 &&
+      booked != null && jcNotation.FormatWireMove(booked) == "A2 C3" &&
+      book.Query(start, new jcMoveListGenerator) == null
+
+    }
+
+  }
+
+}
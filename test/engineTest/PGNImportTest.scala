@@ -0,0 +1,116 @@
+package engineTest
+import org.specs2.mutable._
+import play.api.test._
+import play.api.test.Helpers._
+import xmodels._
+import controllers.{IntegrityScan, PGNImport}
+import play.api.db.DB
+import java.lang.reflect.{InvocationHandler, Method, Proxy}
+import org.postgresql.PGConnection
+
+class PGNImportTest extends Specification {
+
+  val pgn = """[Event "Casual game"]
+[White "Anderssen, A."]
+[Black "Kieseritzky, L."]
+[Result "1-0"]
+
+1. e4 e5 2. f4 exf4 3. Bc4 Qh4+ {the Immortal Game starts like this} 4. Kf1 b5
+5. Bxb5 Nf6 (5... c6 6. Nf3) 6. Nf3 Qh6 $1 1-0
+
+[Event "Illegal"]
+[White "A"]
+[Black "B"]
+[Result "*"]
+
+1.e4 e5 2.Ke3 *
+
+[Event "Set up"]
+[FEN "8/8/8/8/8/8/8/K6k w - - 0 1"]
+[Result "1/2-1/2"]
+
+1. Kb1 1/2-1/2
+
+[Event "Promotion"]
+[Result "0-1"]
+
+1. h4 g5 2. hxg5 h6 3. gxh6 Nf6 4. h7 Ng8 5. hxg8=Q Rxg8 ; the rook takes back
+0-1
+"""
+
+  // A connection which only answers isWrapperFor and unwrap, for driver: a stand-in for Play's wrapper
+  def wrapping(driver : AnyRef) : java.sql.Connection = {
+
+    Proxy.newProxyInstance(getClass.getClassLoader, Array[Class[_]](classOf[java.sql.Connection]), new InvocationHandler {
+      def invoke(proxy : AnyRef, method : Method, args : Array[AnyRef]) : AnyRef = method.getName match {
+        case "isWrapperFor" => java.lang.Boolean.valueOf(args(0).asInstanceOf[Class[_]].isInstance(driver))
+        case "unwrap" => driver
+        case name => throw new UnsupportedOperationException(name)
+      }
+    }).asInstanceOf[java.sql.Connection]
+
+  }
+
+  // PostgreSQL's connection, as far as copyManager can tell
+  val postgres = Proxy.newProxyInstance(getClass.getClassLoader, Array[Class[_]](classOf[PGConnection]), new InvocationHandler {
+    def invoke(proxy : AnyRef, method : Method, args : Array[AnyRef]) : AnyRef = null
+  })
+
+  "A PGN import" should {
+
+    "load through COPY on PostgreSQL, and through JDBC batches on anything else" in {
+
+      running(FakeApplication(additionalConfiguration = inMemoryDatabase())){
+
+        DatabaseAccessor.copyManager(wrapping(postgres)).isDefined &&
+        DatabaseAccessor.copyManager(wrapping(new Object)).isEmpty &&
+        DB.withConnection(conn => DatabaseAccessor.copyManager(conn)).isEmpty
+
+      }
+
+    }
+
+    "store the legal games, in the wire notation, and report the others" in {
+
+      running(FakeApplication(additionalConfiguration = inMemoryDatabase())){
+
+        val out = new java.io.StringWriter
+        val report = PGNImport.run(new java.io.StringReader(pgn), out, 2, 1)
+        val text = out.toString
+
+        val ids = DatabaseAccessor.gameIdsAfter(0, 10)
+        val transcripts = ids.map(DatabaseAccessor.getTranscript(_))
+        val scan = IntegrityScan.run(new java.io.StringWriter)
+
+        report.games == 4 && report.imported == 2 && report.rejected == 2 && report.plies == 12 + 10 &&
+        text.contains("game 2: move 2 (Ke3) is not legal") && text.contains("game 3: starts from a set-up position") &&
+        ids.length == 2 && scan.corrupt == 0 && scan.plies == 22 &&
+        transcripts.exists(_.take(4) == List("B5 D5", "G5 E5", "B6 D6", "E5 D6")) &&
+        transcripts.exists(_.contains("G8 H7 Q"))
+
+      }
+
+    }
+
+    "export the games it stored with the tags and results of their PGN" in {
+
+      running(FakeApplication(additionalConfiguration = inMemoryDatabase())){
+
+        PGNImport.run(new java.io.StringReader(pgn), new java.io.StringWriter, 2, 1)
+
+        val immortal = DatabaseAccessor.gameIdsAfter(0, 10).find(DatabaseAccessor.getTranscript(_).headOption == Some("B5 D5")).get
+        val game = DatabaseAccessor.getGame(immortal)
+        val text = PGN.export(game, "?", "?", DatabaseAccessor.getTranscript(immortal), DatabaseAccessor.getArchiveTags(immortal))
+        val history = scala.io.Source.fromInputStream(new PGNHistoryStream(DatabaseAccessor.ARCHIVE), "UTF-8").mkString
+
+        text.contains("[Event \"Casual game\"]") && text.contains("[White \"Anderssen, A.\"]") &&
+        text.contains("[Black \"Kieseritzky, L.\"]") && text.contains("[Result \"1-0\"]") && text.trim.endsWith("Qh6 1-0") &&
+        history.contains("[Event \"Promotion\"]") && history.contains("[Result \"0-1\"]") && history.contains("Rxg8 0-1")
+
+      }
+
+    }
+
+  }
+
+}
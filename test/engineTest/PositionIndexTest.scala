@@ -0,0 +1,62 @@
+package engineTest
+import org.specs2.mutable._
+import play.api.test._
+import play.api.test.Helpers._
+import xmodels._
+import controllers.PositionIndex
+import TestGames._
+
+class PositionIndexTest extends Specification {
+
+  val kingsPawns = List("B5 D5", "G5 E5")
+
+  "The position index" should {
+
+    "find the games reaching a position, as they are played or once rebuilt" in {
+
+      running(FakeApplication(additionalConfiguration = inMemoryDatabase())){
+
+        createPlayers()
+
+        val live = storeGame(kingsPawns ++ List("A7 C6"), true)
+        val old = storeGame(kingsPawns ++ List("A2 C3"), false)
+        val corrupt = storeGame(kingsPawns ++ List("B5 D5", "A7 C6"), false)
+        storeGame(List("B4 D4", "G4 E4"), false)
+
+        val before = DatabaseAccessor.gamesReaching(key(kingsPawns), 0, 10)
+        val report = PositionIndex.run(new java.io.StringWriter, 2, 2)
+        val after = DatabaseAccessor.gamesReaching(key(kingsPawns), 0, 10)
+
+        before == List(PositionMatch(live, 2)) &&
+        report.games == 4 && report.positions == 3 + 3 + 2 + 2 &&
+        after == List(PositionMatch(live, 2), PositionMatch(old, 2), PositionMatch(corrupt, 2)) &&
+        DatabaseAccessor.gamesReaching(key(kingsPawns), live, 1) == List(PositionMatch(old, 2)) &&
+        DatabaseAccessor.gamesReaching(key(kingsPawns ++ List("A7 C6")), 0, 10) == List(PositionMatch(live, 3))
+
+      }
+
+    }
+
+    "index the moves stored after a page was read" in {
+
+      running(FakeApplication(additionalConfiguration = inMemoryDatabase())){
+
+        createPlayers()
+
+        val first = List(kingsPawns.head)
+        val gameID = storeGame(first, true)
+        val read = PositionIndex.index(gameID, first)
+
+        // The reply comes in while the page is being replayed
+        DatabaseAccessor.addMove(gameID, black.xauth, kingsPawns(1), 0, Some(key(kingsPawns)))
+        val indexed = DatabaseAccessor.reindexGames(0, gameID, Map(gameID -> 1), read, PositionIndex.index)
+
+        indexed == 2 && DatabaseAccessor.gamesReaching(key(kingsPawns), 0, 10) == List(PositionMatch(gameID, 2))
+
+      }
+
+    }
+
+  }
+
+}
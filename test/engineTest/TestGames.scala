@@ -0,0 +1,50 @@
+package engineTest
+import xmodels._
+import javachess._
+
+/**
+ * Two players, and their games, for the tests which need stored games. Call createPlayers in each
+ * running application before storing anything.
+ */
+object TestGames {
+
+  val white = ChessUser("none", "white-key", "white@example.com", "White", "none")
+  val black = ChessUser("none", "black-key", "black@example.com", "Black", "none")
+
+  def createPlayers() {
+
+    DatabaseAccessor.createUser(white)
+    DatabaseAccessor.createUser(black)
+
+  }
+
+  // The key of the position reached by moves, in the wire notation
+  def key(moves : List[String]) : Long = {
+
+    val validator = new jcGameValidator
+    for(move <- moves){
+      validator.PlayWire(move)
+    }
+    validator.GetBoard.GetPositionKey
+
+  }
+
+  // Stores a game between white and black, requested and accepted as players do, then its moves, in
+  // the wire notation, indexing them as they are played if asked to; returns its id
+  def storeGame(moves : List[String], indexed : Boolean = false) : Long = {
+
+    DatabaseAccessor.gameRequestCreate(white.xauth, black.xauth)
+    val request = DatabaseAccessor.getPendingGames(black.xauth).maxBy(_.id)
+    val gameID = DatabaseAccessor.createGame(request.white, request.black, request.id)
+
+    var turn = 0
+    for(i <- 1 to moves.length){
+      turn = 1 - turn
+      val position = if(indexed) Some(key(moves.take(i))) else None
+      DatabaseAccessor.addMove(gameID, if(turn == 1) white.xauth else black.xauth, moves(i - 1), turn, position)
+    }
+    gameID
+
+  }
+
+}